@@ -0,0 +1,40 @@
+package benchmarks;
+
+import java.io.IOException;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkMain {
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        CommandLineOptions commandLine;
+        try {
+            commandLine = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error parsing command line: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue())
+            builder.resultFormat(ResultFormatType.JSON);
+        if (!commandLine.getResult().hasValue())
+            builder.result(DEFAULT_RESULT_FILE);
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,114 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.CollisionGrid;
+import utils.IncrementalPathfinder;
+import utils.Pathfinder;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChaseBenchmark {
+    private static final int[][] DIRECTIONS = {
+            { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 },
+            { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 }
+    };
+    private static final long SEED = 42;
+
+    @Param({ "64", "128" })
+    public int size;
+
+    @Param({ "500" })
+    public int ticks;
+
+    @Param({ "false", "true" })
+    public boolean incremental;
+
+    private CollisionGrid map;
+    private Pathfinder pathfinder;
+    private IncrementalPathfinder incrementalPathfinder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = Maps.randomGrid(size, size, 0.2, SEED);
+        map.set(1, 1, false);
+        map.set(size - 2, size - 2, false);
+        pathfinder = new Pathfinder(Pathfinder.Mode.ASTAR);
+        incrementalPathfinder = new IncrementalPathfinder();
+    }
+
+    @Benchmark
+    public long chase() {
+        Random random = new Random(SEED);
+        CollisionGrid grid = map.copy();
+        incrementalPathfinder.invalidate();
+
+        int zombieX = 1, zombieY = 1;
+        int playerX = size - 2, playerY = size - 2;
+        int waypointX = playerX, waypointY = playerY;
+        long expansions = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            if (tick % 50 == 25) {
+                int x = 1 + random.nextInt(size - 2);
+                int y = 1 + random.nextInt(size - 2);
+                if ((x != zombieX || y != zombieY) && (x != playerX || y != playerY)) {
+                    boolean blocked = grid.isWalkable(x, y);
+                    grid.set(x, y, blocked);
+                    incrementalPathfinder.tileChanged(x, y, blocked);
+                }
+            }
+
+            if ((playerX == waypointX && playerY == waypointY) || tick % 200 == 0) {
+                waypointX = 1 + random.nextInt(size - 2);
+                waypointY = 1 + random.nextInt(size - 2);
+            }
+            int bestX = playerX, bestY = playerY;
+            int bestDistance = Math.abs(playerX - waypointX) + Math.abs(playerY - waypointY);
+            for (int[] direction : DIRECTIONS) {
+                int nextX = playerX + direction[0];
+                int nextY = playerY + direction[1];
+                int distance = Math.abs(nextX - waypointX) + Math.abs(nextY - waypointY);
+                if (grid.isWalkable(nextX, nextY) && (distance < bestDistance
+                        || (distance == bestDistance && random.nextInt(4) == 0))) {
+                    bestX = nextX;
+                    bestY = nextY;
+                    bestDistance = distance;
+                }
+            }
+            playerX = bestX;
+            playerY = bestY;
+
+            int length;
+            if (incremental) {
+                length = incrementalPathfinder.findPath(zombieX, zombieY, playerX, playerY, grid);
+                expansions += incrementalPathfinder.getLastNodesExpanded();
+            } else {
+                length = pathfinder.findPath(zombieX, zombieY, playerX, playerY, grid);
+                expansions += pathfinder.getLastNodesExpanded();
+            }
+
+            if (length > 1 && tick % 2 == 0) {
+                int next = incremental ? incrementalPathfinder.getPathIndex(1) : pathfinder.getPathIndex(1);
+                zombieX = next % size;
+                zombieY = next / size;
+            }
+        }
+        return expansions;
+    }
+}
@@ -0,0 +1,66 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.Rectangle;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    private static final int WORLD_SIZE = 2048;
+
+    @Param({ "100", "1000" })
+    public int count;
+
+    private Rectangle[] rectangles;
+    private Rectangle player;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(3);
+        rectangles = new Rectangle[count];
+        for (int i = 0; i < count; i++) {
+            rectangles[i] = new Rectangle(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE, 32, 32);
+        }
+        player = new Rectangle(WORLD_SIZE / 2f, WORLD_SIZE / 2f, 32, 32);
+    }
+
+    @Benchmark
+    public int playerAgainstAll() {
+        int hits = 0;
+        for (Rectangle rectangle : rectangles) {
+            if (player.intersects(rectangle))
+                hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int allPairs() {
+        int hits = 0;
+        for (int i = 0; i < rectangles.length; i++) {
+            Rectangle a = rectangles[i];
+            for (int j = i + 1; j < rectangles.length; j++) {
+                if (a.intersects(rectangles[j]))
+                    hits++;
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import world.Environment;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnvironmentBenchmark {
+    private static final int TILE_SIZE = 32;
+    private static final int PROBES = 1024;
+
+    @Param({ "64", "256" })
+    public int size;
+
+    private Environment environment;
+    private float[] probeX;
+    private float[] probeY;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = new Environment(size * TILE_SIZE, size * TILE_SIZE, TILE_SIZE);
+        environment.setCollisionGrid(Maps.randomGrid(size, size, 0.2, 7));
+        environment.ensureBorders();
+
+        Random random = new Random(11);
+        probeX = new float[PROBES];
+        probeY = new float[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probeX[i] = random.nextFloat() * size * TILE_SIZE;
+            probeY[i] = random.nextFloat() * size * TILE_SIZE;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int isWalkable() {
+        int walkable = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (environment.isWalkable(probeX[i], probeY[i]))
+                walkable++;
+        }
+        return walkable;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int isAreaWalkable() {
+        int walkable = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (environment.isAreaWalkable(probeX[i], probeY[i], 32, 32))
+                walkable++;
+        }
+        return walkable;
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import entities.Player;
+import utils.CollisionGrid;
+import world.Environment;
+import world.Level;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelTickBenchmark {
+    private static final int TILE_SIZE = 32;
+    private static final int MAP_SIZE = 96;
+    private static final float DT = 1 / 60f;
+
+    @Param({ "10", "100", "1000" })
+    public int zombies;
+
+    @Param({ "FLOW_FIELD", "PATHFINDER" })
+    public Level.NavigationMode navigation;
+
+    private Level level;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void setUp() {
+        Environment environment = new Environment(MAP_SIZE * TILE_SIZE, MAP_SIZE * TILE_SIZE, TILE_SIZE);
+        CollisionGrid grid = Maps.randomGrid(MAP_SIZE, MAP_SIZE, 0.08, 13);
+        grid.set(MAP_SIZE / 2, MAP_SIZE / 2, false);
+        environment.setCollisionGrid(grid);
+        environment.ensureBorders();
+
+        Player player = new Player(MAP_SIZE / 2 * TILE_SIZE, MAP_SIZE / 2 * TILE_SIZE, 32, 32,
+                Integer.MAX_VALUE / 2, 3);
+        level = new Level(1, environment, player);
+        player.setLevel(level);
+        level.setRandomSeed(17);
+        level.setNavigationMode(navigation);
+        for (int i = 0; i < zombies; i++) {
+            level.spawnZombie();
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        level.update(DT);
+        return level.getZombies().size();
+    }
+}
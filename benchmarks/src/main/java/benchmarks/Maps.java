@@ -0,0 +1,36 @@
+package benchmarks;
+
+import java.util.Random;
+import utils.CollisionGrid;
+import utils.Pathfinder;
+
+final class Maps {
+    private static final int MAX_ATTEMPTS = 100;
+
+    private Maps() {
+    }
+
+    static CollisionGrid randomGrid(int cols, int rows, double density, long seed) {
+        Random random = new Random(seed);
+        CollisionGrid grid = new CollisionGrid(cols, rows);
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                boolean border = x == 0 || y == 0 || x == cols - 1 || y == rows - 1;
+                grid.set(x, y, border || random.nextDouble() < density);
+            }
+        }
+        return grid;
+    }
+
+    static CollisionGrid connectedGrid(int cols, int rows, double density, long seed) {
+        Pathfinder pathfinder = new Pathfinder();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            CollisionGrid grid = randomGrid(cols, rows, density, seed + attempt);
+            grid.set(1, 1, false);
+            grid.set(cols - 2, rows - 2, false);
+            if (pathfinder.findPath(1, 1, cols - 2, rows - 2, grid) > 0)
+                return grid;
+        }
+        throw new IllegalStateException("No connected " + cols + "x" + rows + " map at density " + density);
+    }
+}
@@ -0,0 +1,48 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.CollisionGrid;
+import utils.Pathfinder;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfinderBenchmark {
+    @Param({ "32", "64", "128" })
+    public int size;
+
+    @Param({ "0.10", "0.25" })
+    public double density;
+
+    @Param({ "ASTAR", "JUMP_POINT" })
+    public Pathfinder.Mode mode;
+
+    private CollisionGrid grid;
+    private Pathfinder pathfinder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        grid = Maps.connectedGrid(size, size, density, 42);
+        pathfinder = new Pathfinder(mode);
+    }
+
+    @Benchmark
+    public int findPathCornerToCorner() {
+        return pathfinder.findPath(1, 1, size - 2, size - 2, grid);
+    }
+}
@@ -0,0 +1,89 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import combat.Projectile;
+import combat.ProjectilePool;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectileBenchmark {
+    private static final float DT = 1 / 60f;
+    private static final float SPEED = 600;
+
+    @Param({ "600" })
+    public int shotsPerSecond;
+
+    @Param({ "2000" })
+    public float range;
+
+    @Param({ "false", "true" })
+    public boolean pooled;
+
+    private Random random;
+    private List<Projectile> list;
+    private ProjectilePool pool;
+    private float pendingShots;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        random = new Random(11);
+        list = new ArrayList<>();
+        pool = new ProjectilePool(2048);
+        pendingShots = 0;
+    }
+
+    @Benchmark
+    public int tick() {
+        pendingShots += shotsPerSecond * DT;
+        for (; pendingShots >= 1; pendingShots--) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            float dx = (float) Math.cos(angle);
+            float dy = (float) Math.sin(angle);
+            if (pooled) {
+                pool.launch(0, 0, dx, dy, SPEED, 10, range);
+            } else {
+                list.add(new Projectile(0, 0, dx, dy, SPEED, 10, range));
+            }
+        }
+
+        if (pooled) {
+            for (int i = 0; i < pool.size(); i++) {
+                Projectile p = pool.get(i);
+                p.update(DT);
+                if (!p.isActive()) {
+                    pool.release(i);
+                    i--;
+                }
+            }
+            return pool.size();
+        }
+        for (int i = 0; i < list.size(); i++) {
+            Projectile p = list.get(i);
+            p.update(DT);
+            if (!p.isActive()) {
+                list.remove(i);
+                i--;
+            }
+        }
+        return list.size();
+    }
+}
@@ -0,0 +1,125 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import entities.Entity;
+import world.SpatialHash;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpatialHashBenchmark {
+    private static final float WORLD_SIZE = 4096;
+    private static final float CELL_SIZE = 64;
+    private static final float DT = 1 / 60f;
+
+    @Param({ "1000" })
+    public int zombies;
+
+    @Param({ "1000" })
+    public int projectiles;
+
+    @Param({ "false", "true" })
+    public boolean indexed;
+
+    private List<Entity> zombieList;
+    private List<Entity> projectileList;
+    private float[] velocityX;
+    private float[] velocityY;
+    private SpatialHash<Entity> index;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(7);
+        zombieList = spawn(zombies, 32);
+        projectileList = spawn(projectiles, 8);
+        velocityX = new float[projectiles];
+        velocityY = new float[projectiles];
+        for (int i = 0; i < projectiles; i++) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            velocityX[i] = (float) Math.cos(angle) * 500;
+            velocityY[i] = (float) Math.sin(angle) * 500;
+        }
+        index = new SpatialHash<>(WORLD_SIZE, WORLD_SIZE, CELL_SIZE);
+    }
+
+    @Benchmark
+    public int tick() {
+        for (Entity zombie : zombieList) {
+            zombie.setX(wrap(zombie.getX() + (random.nextFloat() - 0.5f) * 4));
+            zombie.setY(wrap(zombie.getY() + (random.nextFloat() - 0.5f) * 4));
+        }
+        for (int i = 0; i < projectiles; i++) {
+            Entity projectile = projectileList.get(i);
+            projectile.setX(wrap(projectile.getX() + velocityX[i] * DT));
+            projectile.setY(wrap(projectile.getY() + velocityY[i] * DT));
+        }
+
+        int hits = 0;
+        if (indexed) {
+            index.rebuild(zombieList);
+            for (Entity projectile : projectileList) {
+                if (index.queryRect(projectile.getX(), projectile.getY(), projectile.getWidth(),
+                        projectile.getHeight()) > 0)
+                    hits++;
+            }
+        } else {
+            for (Entity projectile : projectileList) {
+                for (Entity zombie : zombieList) {
+                    if (overlaps(projectile, zombie)) {
+                        hits++;
+                        break;
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    private List<Entity> spawn(int count, int size) {
+        List<Entity> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entities.add(new Entity(random.nextFloat() * WORLD_SIZE, random.nextFloat() * WORLD_SIZE, size, size) {
+                @Override
+                public void update(float dt) {
+                }
+
+                @Override
+                public void render(Object g) {
+                }
+            });
+        }
+        return entities;
+    }
+
+    private static float wrap(float value) {
+        if (value < 0)
+            return value + WORLD_SIZE;
+        if (value >= WORLD_SIZE)
+            return value - WORLD_SIZE;
+        return value;
+    }
+
+    private static boolean overlaps(Entity a, Entity b) {
+        return a.getX() < b.getX() + b.getWidth() && a.getX() + a.getWidth() > b.getX()
+                && a.getY() < b.getY() + b.getHeight() && a.getY() + a.getHeight() > b.getY();
+    }
+}
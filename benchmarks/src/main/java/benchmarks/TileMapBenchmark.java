@@ -0,0 +1,77 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import world.TileMap;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TileMapBenchmark {
+    private static final String[] TILE_NAMES = { "grass", "path", "path_var", "top", "topleft", "topright" };
+
+    @Param({ "25", "100", "400" })
+    public int size;
+
+    private Path mapFile;
+    private TileMap warmMap;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(5);
+        List<String> lines = new ArrayList<>();
+        for (int r = 0; r < size; r++) {
+            StringBuilder line = new StringBuilder();
+            for (int c = 0; c < size; c++) {
+                if (c > 0)
+                    line.append(',');
+                line.append(TILE_NAMES[random.nextInt(TILE_NAMES.length)]);
+            }
+            lines.add(line.toString());
+        }
+        mapFile = Files.createTempFile("zompocalypse-map", ".txt");
+        Files.write(mapFile, lines);
+
+        warmMap = new TileMap(32);
+        warmMap.loadMap(mapFile.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(mapFile);
+    }
+
+    @Benchmark
+    public TileMap loadMapCold() throws IOException {
+        TileMap map = new TileMap(32);
+        map.loadMap(mapFile.toString());
+        return map;
+    }
+
+    @Benchmark
+    public TileMap loadMapWarm() throws IOException {
+        warmMap.loadMap(mapFile.toString());
+        return warmMap;
+    }
+}
@@ -13,8 +13,19 @@ public class Projectile extends Entity {
     private float distanceTraveled;
     private float maxDistance;
 
+    public Projectile() {
+        super(0, 0, 8, 8);
+        this.active = false;
+    }
+
     public Projectile(float x, float y, float dx, float dy, float speed, int damage, float maxDistance) {
         super(x, y, 8, 8);
+        launch(x, y, dx, dy, speed, damage, maxDistance);
+    }
+
+    public void launch(float x, float y, float dx, float dy, float speed, int damage, float maxDistance) {
+        this.x = x;
+        this.y = y;
         this.dx = dx;
         this.dy = dy;
         this.speed = speed;
@@ -22,6 +33,8 @@ public class Projectile extends Entity {
         this.maxDistance = maxDistance;
         this.active = true;
         this.distanceTraveled = 0;
+        this.previousX = x;
+        this.previousY = y;
 
         float length = (float) Math.sqrt(dx * dx + dy * dy);
         if (length != 0) {
@@ -32,6 +45,8 @@ public class Projectile extends Entity {
 
     @Override
     public void update(float dt) {
+        previousX = x;
+        previousY = y;
         float moveX = dx * speed * dt;
         float moveY = dy * speed * dt;
 
@@ -0,0 +1,84 @@
+package combat;
+
+import java.util.AbstractList;
+import java.util.List;
+
+public class ProjectilePool {
+    private final Projectile[] projectiles;
+    private final List<Projectile> activeView;
+    private int activeCount;
+    private long launched;
+    private long dropped;
+
+    public ProjectilePool(int capacity) {
+        this.projectiles = new Projectile[Math.max(1, capacity)];
+        for (int i = 0; i < projectiles.length; i++) {
+            projectiles[i] = new Projectile();
+        }
+        this.activeView = new AbstractList<Projectile>() {
+            @Override
+            public Projectile get(int index) {
+                if (index < 0 || index >= activeCount)
+                    throw new IndexOutOfBoundsException("Projectile index " + index + " out of " + activeCount);
+                return projectiles[index];
+            }
+
+            @Override
+            public int size() {
+                return activeCount;
+            }
+        };
+    }
+
+    public Projectile launch(float x, float y, float dx, float dy, float speed, int damage, float maxDistance) {
+        if (activeCount == projectiles.length) {
+            dropped++;
+            return null;
+        }
+        Projectile projectile = projectiles[activeCount++];
+        projectile.launch(x, y, dx, dy, speed, damage, maxDistance);
+        launched++;
+        return projectile;
+    }
+
+    public void release(int index) {
+        if (index < 0 || index >= activeCount)
+            return;
+        Projectile released = projectiles[index];
+        released.setActive(false);
+        int last = --activeCount;
+        projectiles[index] = projectiles[last];
+        projectiles[last] = released;
+    }
+
+    public void clear() {
+        for (int i = 0; i < activeCount; i++) {
+            projectiles[i].setActive(false);
+        }
+        activeCount = 0;
+    }
+
+    public Projectile get(int index) {
+        return projectiles[index];
+    }
+
+    public int size() {
+        return activeCount;
+    }
+
+    public int getCapacity() {
+        return projectiles.length;
+    }
+
+    public List<Projectile> asList() {
+        return activeView;
+    }
+
+    public long getLaunched() {
+        return launched;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+}
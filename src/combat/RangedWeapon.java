@@ -48,7 +48,6 @@ public class RangedWeapon extends Weapon {
             dirY /= length;
         }
 
-        Projectile p = new Projectile(startX, startY, dirX, dirY, projectileSpeed, getDamage(), 2000f);
-        level.addProjectile(p);
+        level.launchProjectile(startX, startY, dirX, dirY, projectileSpeed, getDamage(), 2000f);
     }
 }
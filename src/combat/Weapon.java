@@ -3,6 +3,7 @@ package combat;
 import entities.Entity;
 import entities.Zombie;
 import world.Level;
+import world.SpatialHash;
 
 public class Weapon {
     private String name;
@@ -30,12 +31,11 @@ public class Weapon {
         if (type.equals("melee")) {
             if (level != null) {
                 float reach = 50;
-                for (Zombie z : level.getZombies()) {
-                    float dx = origin.getX() - z.getX();
-                    float dy = origin.getY() - z.getY();
-                    float dist = (float) Math.sqrt(dx * dx + dy * dy);
-
-                    if (z.isAlive() && dist < reach) {
+                SpatialHash<Zombie> zombieIndex = level.getZombieIndex();
+                int hits = zombieIndex.queryRadius(origin.getX(), origin.getY(), reach);
+                for (int i = 0; i < hits; i++) {
+                    Zombie z = zombieIndex.getResult(i);
+                    if (z.isAlive()) {
                         z.takeDamage(damage);
                     }
                 }
@@ -1,11 +1,14 @@
 package entities;
 
 import world.Environment;
+import world.WorldSnapshot;
+import world.ZombieStore.State;
 
 public class Boss extends Zombie {
 
     public Boss(float x, float y, int hp, float speed, int attackDamage) {
         super(x, y, 128, 128, hp, speed, attackDamage);
+        setDetectionRange(Float.MAX_VALUE);
     }
 
     @Override
@@ -28,16 +31,16 @@ public class Boss extends Zombie {
     }
 
     @Override
-    public void updateAI(Player player, Environment environment, float dt) {
-        if (!alive)
+    public void updateAI(WorldSnapshot world, Environment environment, float dt) {
+        if (!isAlive())
             return;
 
-        this.targetPlayer = player;
-
+        float x = getX();
+        float y = getY();
         float centerX = x + width / 2;
         float centerY = y + height / 2;
-        float playerCenterX = player.getX() + player.getWidth() / 2;
-        float playerCenterY = player.getY() + player.getHeight() / 2;
+        float playerCenterX = world.getPlayerX() + world.getPlayerWidth() / 2;
+        float playerCenterY = world.getPlayerY() + world.getPlayerHeight() / 2;
 
         float distanceToPlayer = (float) Math
                 .sqrt(Math.pow(playerCenterX - centerX, 2) + Math.pow(playerCenterY - centerY, 2));
@@ -45,37 +48,32 @@ public class Boss extends Zombie {
         float attackRangeThreshold = 81.0f;
 
         if (distanceToPlayer < attackRangeThreshold) {
-            state = "attacking";
-            velocityX = 0;
-            velocityY = 0;
+            setState(State.ATTACKING);
+            setVelocity(0, 0);
             facingRight = (playerCenterX > centerX);
 
-            if (attackTimer <= 0) {
-                attack(player);
-                attackTimer = attackCooldown;
+            if (getAttackTimer() <= 0) {
+                requestAttack();
+                setAttackTimer(attackCooldown);
             }
-        } else {
+        } else if (environment.hasLineOfSight(x, y, playerCenterX - width / 2, playerCenterY - height / 2, width,
+                height)) {
             moveDirectly(playerCenterX, playerCenterY, dt, environment);
+        } else if (!followPath(world, environment, dt)) {
+            setState(State.IDLE);
+            setVelocity(0, 0);
         }
-
-        attackTimer -= dt;
     }
 
     private void moveDirectly(float targetX, float targetY, float dt, Environment environment) {
-        float centerX = x + width / 2;
-        float centerY = y + height / 2;
+        float centerX = getX() + width / 2;
+        float centerY = getY() + height / 2;
         float dirX = targetX - centerX;
         float dirY = targetY - centerY;
 
         float length = (float) Math.sqrt(dirX * dirX + dirY * dirY);
-        if (length > 0) {
-            float vx = (dirX / length) * speed;
-            float vy = (dirY / length) * speed;
-
-            velocityX = vx;
-            velocityY = vy;
-            state = "moving";
-            facingRight = (vx > 0);
+        if (length > 0 && !moveTowards(dirX, dirY, length, environment, dt)) {
+            setState(State.IDLE);
         }
     }
 }
@@ -62,7 +62,7 @@ public class Character extends Entity {
     @Override
     public void update(float dt) {
         if (currentAnimation != null) {
-            currentAnimation.update();
+            currentAnimation.update(dt);
             currentFrame = currentAnimation.getCurrentFrame();
         }
     }
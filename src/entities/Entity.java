@@ -5,6 +5,8 @@ import utils.Rectangle;
 public abstract class Entity {
     protected float x;
     protected float y;
+    protected float previousX;
+    protected float previousY;
     protected int width;
     protected int height;
     protected float velocityX;
@@ -16,6 +18,8 @@ public abstract class Entity {
     public Entity(float x, float y, int width, int height) {
         this.x = x;
         this.y = y;
+        this.previousX = x;
+        this.previousY = y;
         this.width = width;
         this.height = height;
         this.velocityX = 0;
@@ -51,6 +55,29 @@ public abstract class Entity {
         this.y = y;
     }
 
+    public void storePreviousPosition() {
+        previousX = x;
+        previousY = y;
+    }
+
+    public float getPreviousX() {
+        return previousX;
+    }
+
+    public float getPreviousY() {
+        return previousY;
+    }
+
+    public float getRenderX(float alpha) {
+        float previous = getPreviousX();
+        return previous + (getX() - previous) * alpha;
+    }
+
+    public float getRenderY(float alpha) {
+        float previous = getPreviousY();
+        return previous + (getY() - previous) * alpha;
+    }
+
     public int getWidth() {
         return width;
     }
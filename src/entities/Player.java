@@ -11,7 +11,7 @@ import java.awt.Stroke;
 import world.Environment;
 import world.Level;
 import ui.UI;
-import inputs.InputHandler;
+import inputs.InputFrame;
 import combat.Weapon;
 import graphics.Animation;
 
@@ -94,6 +94,7 @@ public class Player extends Character {
     public void spawn(float x, float y) {
         this.x = x;
         this.y = y;
+        storePreviousPosition();
         this.alive = true;
         this.hp = maxHp;
         this.invulnerabilityTimer = INVULNERABILITY_TIME;
@@ -103,7 +104,7 @@ public class Player extends Character {
         this.level = level;
     }
 
-    public void handleInput(InputHandler input) {
+    public void handleInput(InputFrame input, float dt) {
         if (input.isSwitchingToMelee()) {
             for (Weapon w : weapons) {
                 if (w.getType().equals("melee")) {
@@ -129,16 +130,16 @@ public class Player extends Character {
 
         if (isRunning && stamina > 0) {
             speed = runSpeed;
-            stamina -= staminaDrain * (1.0f / 60.0f);
+            stamina -= staminaDrain * dt;
             staminaRegenTimer = STAMINA_COOLDOWN;
             if (stamina < 0)
                 stamina = 0;
         } else {
             speed = walkSpeed;
             if (staminaRegenTimer > 0) {
-                staminaRegenTimer -= (1.0f / 60.0f);
+                staminaRegenTimer -= dt;
             } else if (stamina < maxStamina) {
-                stamina += staminaRegen * (1.0f / 60.0f);
+                stamina += staminaRegen * dt;
                 if (stamina > maxStamina)
                     stamina = maxStamina;
             }
@@ -342,10 +343,7 @@ public class Player extends Character {
     }
 
     private boolean canMove(float newX, float newY) {
-        return environment.isWalkable(newX, newY) &&
-                environment.isWalkable(newX + width - 1, newY) &&
-                environment.isWalkable(newX, newY + height - 1) &&
-                environment.isWalkable(newX + width - 1, newY + height - 1);
+        return environment.isAreaWalkable(newX, newY, width, height);
     }
 
     @Override
@@ -1,25 +1,38 @@
 package entities;
 
 import java.util.List;
-import java.util.ArrayList;
 import java.awt.Point;
-import world.Environment;
+import utils.IncrementalPathfinder;
 import utils.Pathfinder;
+import world.Environment;
+import world.NavigationStrategy;
+import world.WorldSnapshot;
+import world.ZombieStore;
+import world.ZombieStore.State;
 import graphics.Animation;
 
 public class Zombie extends Character {
     protected int attackDamage;
-    protected List<Point> path;
-    protected int pathIndex;
-    protected String state;
     protected float attackCooldown;
-    protected float attackTimer;
-    protected float detectionRange;
     protected Player targetPlayer;
-    private Pathfinder pathfinder;
-    private float pathfindingTimer;
+    private NavigationStrategy navigation;
+    private Object navigationState;
+    private boolean pathRequestPending;
+    private boolean chasingDirectly;
+    private ZombieStore store;
+    private int slot;
+    private State state;
+    private float attackTimer;
+    private float pathTimer;
+    private float pathAge;
+    private float detectionRange;
+    private boolean attackRequested;
+    private int[] path;
+    private int pathLength;
+    private int pathIndex;
     private static final float PATHFINDING_UPDATE_INTERVAL = 0.5f;
     private static final int TILE_SIZE = 32;
+    private static final int MIN_PATH_CAPACITY = 16;
 
     protected Animation idleAnim;
     protected Animation moveAnim;
@@ -30,15 +43,11 @@ public class Zombie extends Character {
     public Zombie(float x, float y, int width, int height, int maxHp, float speed, int attackDamage) {
         super(x, y, width, height, maxHp);
         this.speed = speed;
+        this.slot = -1;
+        this.state = State.IDLE;
         this.attackDamage = attackDamage;
-        this.state = "idle";
-        this.path = new ArrayList<>();
-        this.pathIndex = 0;
-        this.pathfinder = new Pathfinder();
         this.attackCooldown = 1.0f;
-        this.attackTimer = 0;
         this.detectionRange = 500;
-        this.pathfindingTimer = 0;
 
         loadAnimations();
     }
@@ -64,105 +73,289 @@ public class Zombie extends Character {
     }
 
     public void updateAI(Player player, Environment environment, float dt) {
-        if (!alive)
+        if (!isAlive())
             return;
 
         this.targetPlayer = player;
-        float distanceToPlayer = (float) Math.sqrt(Math.pow(player.getX() - x, 2) + Math.pow(player.getY() - y, 2));
+        updateAI(new WorldSnapshot(0, player), environment, dt);
+        if (consumeAttackRequest())
+            attack(player);
+    }
 
-        pathfindingTimer -= dt;
+    public void updateAI(WorldSnapshot world, Environment environment, float dt) {
+        if (!isAlive())
+            return;
 
-        if (distanceToPlayer < detectionRange) {
-            if (path.isEmpty() || pathfindingTimer <= 0) {
-                computePath(player, environment);
-                pathfindingTimer = PATHFINDING_UPDATE_INTERVAL;
-                pathIndex = 0;
+        float toPlayerX = world.getPlayerX() - getX();
+        float toPlayerY = world.getPlayerY() - getY();
+        float distanceSquared = toPlayerX * toPlayerX + toPlayerY * toPlayerY;
+        float detectionRange = getDetectionRange();
+
+        if (distanceSquared < detectionRange * detectionRange) {
+            boolean hasTarget;
+            chasingDirectly = environment.hasLineOfSight(getX(), getY(), world.getPlayerX(), world.getPlayerY(), width, height);
+            if (chasingDirectly) {
+                hasTarget = chaseDirectly(world, environment, dt);
+            } else if (navigation != null) {
+                hasTarget = navigation.steer(this, world, environment, dt);
+            } else {
+                hasTarget = false;
             }
 
-            if (!path.isEmpty() && pathIndex < path.size()) {
-                Point nextNode = path.get(pathIndex);
-                float nextX = nextNode.x * TILE_SIZE + TILE_SIZE / 2;
-                float nextY = nextNode.y * TILE_SIZE + TILE_SIZE / 2;
-
-                float dirX = nextX - x;
-                float dirY = nextY - y;
-                float distance = (float) Math.sqrt(dirX * dirX + dirY * dirY);
+            if (hasTarget) {
+                if (distanceSquared < 50 * 50) {
+                    setState(State.ATTACKING);
+                    setVelocity(0, 0);
+                    facingRight = (world.getPlayerX() > getX());
 
-                if (distance < 10) {
-                    pathIndex++;
-                    if (pathIndex >= path.size()) {
-                        pathIndex = 0;
-                        state = "idle";
-                    }
-                } else if (distance > 0) {
-                    float vx = (dirX / distance) * speed;
-                    float vy = (dirY / distance) * speed;
-
-                    float nextPosX = x + vx * dt;
-                    float nextPosY = y + vy * dt;
-                    boolean canMoveDiag = environment.isWalkable(nextPosX, nextPosY);
-
-                    if (canMoveDiag) {
-                        velocityX = vx;
-                        velocityY = vy;
-                        state = "moving";
-                        facingRight = (vx > 0);
-                    } else {
-                        boolean canMoveX = environment.isWalkable(x + vx * dt, y);
-                        boolean canMoveY = environment.isWalkable(x, y + vy * dt);
-                        if (canMoveX) {
-                            velocityX = vx;
-                            velocityY = 0;
-                            state = "moving";
-                            facingRight = (vx > 0);
-                        } else if (canMoveY) {
-                            velocityX = 0;
-                            velocityY = vy;
-                            state = "moving";
-                        } else {
-                            path.clear();
-                            pathIndex = 0;
-                            velocityX = 0;
-                            velocityY = 0;
-                            state = "idle";
-                        }
+                    if (getAttackTimer() <= 0) {
+                        requestAttack();
+                        setAttackTimer(attackCooldown);
                     }
                 }
+            } else {
+                setState(State.IDLE);
+                setVelocity(0, 0);
+            }
+        } else {
+            goDormant();
+        }
+    }
 
-                if (distanceToPlayer < 50) {
-                    state = "attacking";
-                    velocityX = 0;
-                    velocityY = 0;
-                    facingRight = (player.getX() > x);
+    public void goDormant() {
+        chasingDirectly = false;
+        setState(State.IDLE);
+        setVelocity(0, 0);
+        clearPath();
+    }
 
-                    if (attackTimer <= 0) {
-                        attack(player);
-                        attackTimer = attackCooldown;
-                    }
-                }
+    private boolean chaseDirectly(WorldSnapshot world, Environment environment, float dt) {
+        if (getPathLength() > 0)
+            clearPath();
+
+        return steerTowards(world.getPlayerX(), world.getPlayerY(), environment, dt);
+    }
+
+    public boolean steerTowards(float targetX, float targetY, Environment environment, float dt) {
+        float dirX = targetX - getX();
+        float dirY = targetY - getY();
+        float distance = (float) Math.sqrt(dirX * dirX + dirY * dirY);
+
+        if (distance >= 10) {
+            if (!moveTowards(dirX, dirY, distance, environment, dt)) {
+                setState(State.IDLE);
+            }
+        } else {
+            setVelocity(0, 0);
+        }
+        return true;
+    }
+
+    public boolean followPath(WorldSnapshot world, Environment environment, float dt) {
+        if ((getPathLength() == 0 || getPathTimer() <= 0) && !pathRequestPending) {
+            requestPath(world, environment);
+            setPathTimer(PATHFINDING_UPDATE_INTERVAL);
+        }
+
+        int length = getPathLength();
+        int index = getPathIndex();
+        if (length == 0 || index >= length)
+            return false;
+
+        int nextTile = getPathBuffer()[index];
+        float nextX = tileX(nextTile) * TILE_SIZE;
+        float nextY = tileY(nextTile) * TILE_SIZE;
+        if (getFootprint() == 1) {
+            nextX += TILE_SIZE / 2;
+            nextY += TILE_SIZE / 2;
+        }
+
+        float dirX = nextX - getX();
+        float dirY = nextY - getY();
+        float distance = (float) Math.sqrt(dirX * dirX + dirY * dirY);
+
+        if (distance < 10) {
+            if (index + 1 >= length) {
+                clearPath();
+                setState(State.IDLE);
             } else {
-                state = "idle";
-                velocityX = 0;
-                velocityY = 0;
+                setPathIndex(index + 1);
+            }
+        } else if (distance > 0) {
+            if (!moveTowards(dirX, dirY, distance, environment, dt)) {
+                clearPath();
+                setState(State.IDLE);
             }
+        }
+        return true;
+    }
+
+    protected boolean moveTowards(float dirX, float dirY, float distance, Environment environment, float dt) {
+        float vx = (dirX / distance) * getSpeed();
+        float vy = (dirY / distance) * getSpeed();
+
+        float nextPosX = getX() + vx * dt;
+        float nextPosY = getY() + vy * dt;
+        boolean canMoveDiag = canOccupy(nextPosX, nextPosY, environment);
+
+        if (canMoveDiag) {
+            setVelocity(vx, vy);
+            setState(State.MOVING);
+            facingRight = (vx > 0);
         } else {
-            state = "idle";
-            velocityX = 0;
-            velocityY = 0;
-            path.clear();
-            pathIndex = 0;
+            boolean canMoveX = canOccupy(getX() + vx * dt, getY(), environment);
+            boolean canMoveY = canOccupy(getX(), getY() + vy * dt, environment);
+            if (canMoveX) {
+                setVelocity(vx, 0);
+                setState(State.MOVING);
+                facingRight = (vx > 0);
+            } else if (canMoveY) {
+                setVelocity(0, vy);
+                setState(State.MOVING);
+            } else {
+                setVelocity(0, 0);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean canOccupy(float posX, float posY, Environment environment) {
+        return environment.isAreaWalkable(posX, posY, width, height);
+    }
+
+    public int getFootprint() {
+        return Math.max(1, (int) Math.ceil(Math.max(width, height) / (float) TILE_SIZE));
+    }
+
+    public void applySeparation(float pushX, float pushY, Environment environment, float dt) {
+        float vx = getVelocityX() + pushX;
+        float vy = getVelocityY() + pushY;
+        if (canOccupy(getX() + vx * dt, getY() + vy * dt, environment)) {
+            setVelocity(vx, vy);
+        } else if (canOccupy(getX() + vx * dt, getY() + getVelocityY() * dt, environment)) {
+            setVelocityX(vx);
+        } else if (canOccupy(getX() + getVelocityX() * dt, getY() + vy * dt, environment)) {
+            setVelocityY(vy);
         }
     }
 
-    private void computePath(Player player, Environment environment) {
-        int[][] collisionMap = environment.getCollisionTiles();
-        if (collisionMap == null)
+    private void requestPath(WorldSnapshot world, Environment environment) {
+        if (navigation == null || environment.getCollisionGrid() == null)
             return;
 
-        Point start = new Point((int) (x / TILE_SIZE), (int) (y / TILE_SIZE));
-        Point goal = new Point((int) (player.getX() / TILE_SIZE), (int) (player.getY() / TILE_SIZE));
+        navigation.replan(this, (int) (getX() / TILE_SIZE), (int) (getY() / TILE_SIZE),
+                (int) (world.getPlayerX() / TILE_SIZE), (int) (world.getPlayerY() / TILE_SIZE), environment);
+    }
+
+    public void applyPath(List<Point> newPath) {
+        int[] buffer = reservePath(newPath.size());
+        for (int i = 0; i < newPath.size(); i++) {
+            Point tile = newPath.get(i);
+            buffer[i] = packTile(tile.x, tile.y);
+        }
+        commitPath(newPath.size());
+    }
+
+    public void applyPath(Pathfinder pathfinder) {
+        int length = pathfinder.getPathLength();
+        int[] buffer = reservePath(length);
+        for (int i = 0; i < length; i++) {
+            buffer[i] = packTile(pathfinder.getPathX(i), pathfinder.getPathY(i));
+        }
+        commitPath(length);
+    }
+
+    public void applyPath(IncrementalPathfinder pathfinder) {
+        int length = pathfinder.getPathLength();
+        int[] buffer = reservePath(length);
+        for (int i = 0; i < length; i++) {
+            buffer[i] = packTile(pathfinder.getPathX(i), pathfinder.getPathY(i));
+        }
+        commitPath(length);
+    }
+
+    public void applyPath(int[] tiles, int cols) {
+        int[] buffer = reservePath(tiles.length);
+        for (int i = 0; i < tiles.length; i++) {
+            buffer[i] = packTile(tiles[i] % cols, tiles[i] / cols);
+        }
+        commitPath(tiles.length);
+    }
+
+    private int[] reservePath(int length) {
+        int[] buffer = getPathBuffer();
+        if (buffer == null || buffer.length < length) {
+            buffer = new int[Math.max(length, MIN_PATH_CAPACITY)];
+            if (store != null)
+                store.setPath(slot, buffer);
+            else
+                path = buffer;
+        }
+        return buffer;
+    }
+
+    private void commitPath(int length) {
+        setPathLength(length);
+        setPathIndex(0);
+        pathRequestPending = false;
+        setPathAge(0);
+    }
+
+    private void clearPath() {
+        setPathLength(0);
+        setPathIndex(0);
+    }
+
+    private static int packTile(int tileX, int tileY) {
+        return (tileY << 16) | tileX;
+    }
+
+    private static int tileX(int tile) {
+        return tile & 0xFFFF;
+    }
+
+    private static int tileY(int tile) {
+        return tile >>> 16;
+    }
+
+    public void setPathRequestPending(boolean pathRequestPending) {
+        this.pathRequestPending = pathRequestPending;
+    }
+
+    public boolean hasPath() {
+        return getPathLength() > 0;
+    }
+
+    public boolean isChasingDirectly() {
+        return chasingDirectly;
+    }
+
+    public boolean isPathRequestPending() {
+        return pathRequestPending;
+    }
+
+    public void requestAttack() {
+        if (store != null)
+            store.setAttackRequested(slot, true);
+        else
+            attackRequested = true;
+    }
+
+    public boolean consumeAttackRequest() {
+        if (store != null) {
+            if (!store.isAttackRequested(slot))
+                return false;
+            store.setAttackRequested(slot, false);
+            return true;
+        }
+        boolean requested = attackRequested;
+        attackRequested = false;
+        return requested;
+    }
 
-        path = pathfinder.findPath(start, goal, collisionMap);
+    public boolean isParallelSafe() {
+        return navigation == null || navigation.isParallelSafe();
     }
 
     public void attack(Player player) {
@@ -173,22 +366,24 @@ public class Zombie extends Character {
 
     @Override
     public void takeDamage(int damage) {
-        if (!alive)
+        if (!isAlive())
             return;
-        hp -= damage;
+        if (store != null)
+            store.setHp(slot, store.getHp(slot) - damage);
+        else
+            hp -= damage;
         if (hurtAnim != null) {
             currentAnimation = hurtAnim;
             currentAnimation.reset();
         }
-        if (hp <= 0)
+        if (getHp() <= 0)
             die();
     }
 
     public void die() {
-        alive = false;
-        state = "dead";
-        velocityX = 0;
-        velocityY = 0;
+        setAlive(false);
+        setState(State.DEAD);
+        setVelocity(0, 0);
         if (deadAnim != null) {
             currentAnimation = deadAnim;
             currentAnimation.reset();
@@ -196,19 +391,24 @@ public class Zombie extends Character {
     }
 
     public boolean isDeathAnimationFinished() {
-        if (!state.equals("dead"))
+        if (getStateValue() != State.DEAD)
             return false;
         if (deadAnim == null)
             return true;
         return deadAnim.isFinished();
     }
 
+    @Override
     public float getSpeed() {
-        return speed;
+        return (store != null) ? store.getSpeed(slot) : speed;
     }
 
+    @Override
     public void setSpeed(float speed) {
-        this.speed = speed;
+        if (store != null)
+            store.setSpeed(slot, speed);
+        else
+            this.speed = speed;
     }
 
     public int getAttackDamage() {
@@ -220,40 +420,80 @@ public class Zombie extends Character {
     }
 
     public String getState() {
-        return state;
+        return getStateValue().getLabel();
     }
 
     public void setState(String state) {
-        this.state = state;
+        setState(State.fromLabel(state));
+    }
+
+    public State getStateValue() {
+        return (store != null) ? store.getState(slot) : state;
+    }
+
+    public void setState(State state) {
+        if (store != null)
+            store.setState(slot, state);
+        else
+            this.state = state;
+    }
+
+    public NavigationStrategy getNavigation() {
+        return navigation;
+    }
+
+    public void setNavigation(NavigationStrategy navigation) {
+        if (this.navigation != navigation)
+            navigationState = null;
+        this.navigation = navigation;
+    }
+
+    public Object getNavigationState() {
+        return navigationState;
+    }
+
+    public void setNavigationState(Object navigationState) {
+        this.navigationState = navigationState;
     }
 
     public float getDetectionRange() {
-        return detectionRange;
+        return (store != null) ? store.getDetectionRange(slot) : detectionRange;
     }
 
     public void setDetectionRange(float range) {
-        this.detectionRange = range;
+        if (store != null)
+            store.setDetectionRange(slot, range);
+        else
+            this.detectionRange = range;
     }
 
     @Override
     public void update(float dt) {
-        if (!alive) {
-            velocityX = 0;
-            velocityY = 0;
+        if (store != null) {
+            store.integrate(slot, dt);
+        } else {
+            if (!alive) {
+                velocityX = 0;
+                velocityY = 0;
+            }
+            x += velocityX * dt;
+            y += velocityY * dt;
+            attackTimer -= dt;
+            pathTimer -= dt;
+            pathAge += dt;
         }
+        updateAnimation(dt);
+    }
 
-        x += velocityX * dt;
-        y += velocityY * dt;
-        attackTimer -= dt;
-
+    public void updateAnimation(float dt) {
         boolean isHurting = (currentAnimation == hurtAnim && hurtAnim != null && !hurtAnim.isFinished());
         boolean isDying = (currentAnimation == deadAnim && deadAnim != null && !deadAnim.isFinished());
 
         if (!isHurting && !isDying) {
-            if (state.equals("attacking")) {
+            if (getStateValue() == State.ATTACKING) {
                 if (attackAnim != null)
                     currentAnimation = attackAnim;
-            } else if (state.equals("moving") || velocityX != 0 || velocityY != 0) {
+            } else if (getStateValue() == State.MOVING || getVelocityX() != 0 || getVelocityY() != 0) {
                 if (moveAnim != null)
                     currentAnimation = moveAnim;
             } else {
@@ -271,8 +511,252 @@ public class Zombie extends Character {
 
     @Override
     public Object getBounds() {
-        bounds.x = x;
-        bounds.y = y;
+        bounds.x = getX();
+        bounds.y = getY();
         return bounds;
     }
+
+    @Override
+    public float getX() {
+        return (store != null) ? store.getX(slot) : x;
+    }
+
+    @Override
+    public void setX(float x) {
+        if (store != null)
+            store.setX(slot, x);
+        else
+            this.x = x;
+    }
+
+    @Override
+    public float getY() {
+        return (store != null) ? store.getY(slot) : y;
+    }
+
+    @Override
+    public void setY(float y) {
+        if (store != null)
+            store.setY(slot, y);
+        else
+            this.y = y;
+    }
+
+    @Override
+    public void storePreviousPosition() {
+        if (store != null)
+            store.storePreviousPosition(slot);
+        else
+            super.storePreviousPosition();
+    }
+
+    @Override
+    public float getPreviousX() {
+        return (store != null) ? store.getPreviousX(slot) : previousX;
+    }
+
+    @Override
+    public float getPreviousY() {
+        return (store != null) ? store.getPreviousY(slot) : previousY;
+    }
+
+    @Override
+    public float getVelocityX() {
+        return (store != null) ? store.getVelocityX(slot) : velocityX;
+    }
+
+    @Override
+    public void setVelocityX(float velocityX) {
+        if (store != null)
+            store.setVelocityX(slot, velocityX);
+        else
+            this.velocityX = velocityX;
+    }
+
+    @Override
+    public float getVelocityY() {
+        return (store != null) ? store.getVelocityY(slot) : velocityY;
+    }
+
+    @Override
+    public void setVelocityY(float velocityY) {
+        if (store != null)
+            store.setVelocityY(slot, velocityY);
+        else
+            this.velocityY = velocityY;
+    }
+
+    public void setVelocity(float velocityX, float velocityY) {
+        if (store != null) {
+            store.setVelocity(slot, velocityX, velocityY);
+        } else {
+            this.velocityX = velocityX;
+            this.velocityY = velocityY;
+        }
+    }
+
+    @Override
+    public boolean isAlive() {
+        return (store != null) ? store.isAlive(slot) : alive;
+    }
+
+    @Override
+    public void setAlive(boolean alive) {
+        if (store != null)
+            store.setAlive(slot, alive);
+        else
+            this.alive = alive;
+    }
+
+    @Override
+    public boolean isDead() {
+        return getHp() <= 0;
+    }
+
+    @Override
+    public int getHp() {
+        return (store != null) ? store.getHp(slot) : hp;
+    }
+
+    @Override
+    public void setHp(int hp) {
+        int clamped = Math.min(hp, getMaxHp());
+        if (store != null)
+            store.setHp(slot, clamped);
+        else
+            this.hp = clamped;
+    }
+
+    @Override
+    public int getMaxHp() {
+        return (store != null) ? store.getMaxHp(slot) : maxHp;
+    }
+
+    @Override
+    public void setMaxHp(int maxHp) {
+        if (store != null)
+            store.setMaxHp(slot, maxHp);
+        else
+            this.maxHp = maxHp;
+    }
+
+    public float getAttackTimer() {
+        return (store != null) ? store.getAttackTimer(slot) : attackTimer;
+    }
+
+    public void setAttackTimer(float attackTimer) {
+        if (store != null)
+            store.setAttackTimer(slot, attackTimer);
+        else
+            this.attackTimer = attackTimer;
+    }
+
+    private float getPathTimer() {
+        return (store != null) ? store.getPathTimer(slot) : pathTimer;
+    }
+
+    private void setPathTimer(float pathTimer) {
+        if (store != null)
+            store.setPathTimer(slot, pathTimer);
+        else
+            this.pathTimer = pathTimer;
+    }
+
+    public float getPathAge() {
+        return (store != null) ? store.getPathAge(slot) : pathAge;
+    }
+
+    private void setPathAge(float pathAge) {
+        if (store != null)
+            store.setPathAge(slot, pathAge);
+        else
+            this.pathAge = pathAge;
+    }
+
+    private int[] getPathBuffer() {
+        return (store != null) ? store.getPath(slot) : path;
+    }
+
+    private int getPathLength() {
+        return (store != null) ? store.getPathLength(slot) : pathLength;
+    }
+
+    private void setPathLength(int pathLength) {
+        if (store != null)
+            store.setPathLength(slot, pathLength);
+        else
+            this.pathLength = pathLength;
+    }
+
+    private int getPathIndex() {
+        return (store != null) ? store.getPathIndex(slot) : pathIndex;
+    }
+
+    private void setPathIndex(int pathIndex) {
+        if (store != null)
+            store.setPathIndex(slot, pathIndex);
+        else
+            this.pathIndex = pathIndex;
+    }
+
+    public ZombieStore getStore() {
+        return store;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public void bindStore(ZombieStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
+    public void attach(ZombieStore store, int slot) {
+        store.setX(slot, x);
+        store.setY(slot, y);
+        store.setPreviousPosition(slot, previousX, previousY);
+        store.setVelocity(slot, velocityX, velocityY);
+        store.setSpeed(slot, speed);
+        store.setHp(slot, hp);
+        store.setMaxHp(slot, maxHp);
+        store.setAttackTimer(slot, attackTimer);
+        store.setPathTimer(slot, pathTimer);
+        store.setPathAge(slot, pathAge);
+        store.setState(slot, state);
+        store.setAlive(slot, alive);
+        store.setAttackRequested(slot, attackRequested);
+        store.setDetectionRange(slot, detectionRange);
+        store.setPath(slot, path);
+        store.setPathLength(slot, pathLength);
+        store.setPathIndex(slot, pathIndex);
+        path = null;
+        bindStore(store, slot);
+    }
+
+    public void detach() {
+        if (store == null)
+            return;
+        x = store.getX(slot);
+        y = store.getY(slot);
+        previousX = store.getPreviousX(slot);
+        previousY = store.getPreviousY(slot);
+        velocityX = store.getVelocityX(slot);
+        velocityY = store.getVelocityY(slot);
+        speed = store.getSpeed(slot);
+        hp = store.getHp(slot);
+        maxHp = store.getMaxHp(slot);
+        attackTimer = store.getAttackTimer(slot);
+        pathTimer = store.getPathTimer(slot);
+        pathAge = store.getPathAge(slot);
+        state = store.getState(slot);
+        alive = store.isAlive(slot);
+        attackRequested = store.isAttackRequested(slot);
+        detectionRange = store.getDetectionRange(slot);
+        path = store.getPath(slot);
+        pathLength = store.getPathLength(slot);
+        pathIndex = store.getPathIndex(slot);
+        store.setPath(slot, null);
+        bindStore(null, -1);
+    }
 }
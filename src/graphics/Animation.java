@@ -5,8 +5,7 @@ import java.awt.image.BufferedImage;
 public class Animation {
     private int speed;
     private int index;
-    private long lastTime;
-    private long timer;
+    private float timer;
     private BufferedImage[] frames;
     private boolean looping = true;
     private boolean finished = false;
@@ -16,7 +15,6 @@ public class Animation {
         this.frames = frames;
         this.index = 0;
         this.timer = 0;
-        this.lastTime = System.currentTimeMillis();
     }
 
     public void setLooping(boolean looping) {
@@ -27,9 +25,8 @@ public class Animation {
         return finished;
     }
 
-    public void update() {
-        timer += System.currentTimeMillis() - lastTime;
-        lastTime = System.currentTimeMillis();
+    public void update(float dt) {
+        timer += dt * 1000;
 
         if (timer > speed) {
             index++;
@@ -52,7 +49,6 @@ public class Animation {
     public void reset() {
         index = 0;
         timer = 0;
-        lastTime = System.currentTimeMillis();
         finished = false;
     }
 }
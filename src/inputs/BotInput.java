@@ -0,0 +1,104 @@
+package inputs;
+
+import java.awt.event.KeyEvent;
+import java.util.Random;
+import entities.Player;
+import world.Level;
+import world.ZombieStore;
+
+public class BotInput {
+    private static final int[] DIRECTION_KEYS = { KeyEvent.VK_W, KeyEvent.VK_S, KeyEvent.VK_A, KeyEvent.VK_D };
+
+    private final Random random;
+    private float meleeDistance;
+    private float retreatDistance;
+    private int wanderTicks;
+    private int wanderKey;
+
+    public BotInput(long seed) {
+        this.random = new Random(seed);
+        this.meleeDistance = 48;
+        this.retreatDistance = 120;
+        this.wanderKey = DIRECTION_KEYS[0];
+    }
+
+    public void drive(InputHandler input, Level level) {
+        input.releaseAll();
+        if (level == null)
+            return;
+
+        Player player = level.getPlayer();
+        float playerX = player.getX() + player.getWidth() / 2f;
+        float playerY = player.getY() + player.getHeight() / 2f;
+
+        ZombieStore zombies = level.getZombieStore();
+        int nearest = -1;
+        float nearestDistanceSquared = Float.MAX_VALUE;
+        for (int i = 0; i < zombies.size(); i++) {
+            if (!zombies.isAlive(i))
+                continue;
+            float dx = zombies.getX(i) - playerX;
+            float dy = zombies.getY(i) - playerY;
+            float distanceSquared = dx * dx + dy * dy;
+            if (distanceSquared < nearestDistanceSquared) {
+                nearestDistanceSquared = distanceSquared;
+                nearest = i;
+            }
+        }
+
+        if (nearest < 0) {
+            wander(input);
+            return;
+        }
+
+        int width = zombies.get(nearest).getWidth();
+        int height = zombies.get(nearest).getHeight();
+        float targetX = zombies.getX(nearest) + width / 2f;
+        float targetY = zombies.getY(nearest) + height / 2f;
+        input.setMousePosition(targetX, targetY);
+        input.setMousePressed(true);
+
+        float distance = (float) Math.sqrt(nearestDistanceSquared);
+        Integer bullets = player.getAmmo().get("bullet");
+        if (distance <= meleeDistance || bullets == null || bullets <= 0) {
+            input.keyPressed(KeyEvent.VK_1);
+        } else {
+            input.keyPressed(KeyEvent.VK_2);
+        }
+
+        if (distance < retreatDistance) {
+            float dx = playerX - targetX;
+            float dy = playerY - targetY;
+            if (Math.abs(dx) >= Math.abs(dy)) {
+                input.keyPressed(dx < 0 ? KeyEvent.VK_A : KeyEvent.VK_D);
+            } else {
+                input.keyPressed(dy < 0 ? KeyEvent.VK_W : KeyEvent.VK_S);
+            }
+        }
+    }
+
+    private void wander(InputHandler input) {
+        if (wanderTicks <= 0) {
+            wanderKey = DIRECTION_KEYS[random.nextInt(DIRECTION_KEYS.length)];
+            wanderTicks = 30 + random.nextInt(60);
+        }
+        wanderTicks--;
+        input.keyPressed(wanderKey);
+    }
+
+    public float getMeleeDistance() {
+        return meleeDistance;
+    }
+
+    public void setMeleeDistance(float meleeDistance) {
+        this.meleeDistance = meleeDistance;
+    }
+
+    public float getRetreatDistance() {
+        return retreatDistance;
+    }
+
+    public void setRetreatDistance(float retreatDistance) {
+        this.retreatDistance = retreatDistance;
+    }
+}
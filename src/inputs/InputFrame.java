@@ -0,0 +1,71 @@
+package inputs;
+
+import java.awt.event.KeyEvent;
+
+public class InputFrame {
+    static final int[] KEYS = { KeyEvent.VK_W, KeyEvent.VK_A, KeyEvent.VK_S, KeyEvent.VK_D,
+            KeyEvent.VK_SHIFT, KeyEvent.VK_1, KeyEvent.VK_2 };
+    static final int MOUSE_PRESSED = 1 << 7;
+
+    private final int buttons;
+    private final float mouseX;
+    private final float mouseY;
+
+    public InputFrame(int buttons, float mouseX, float mouseY) {
+        this.buttons = buttons;
+        this.mouseX = mouseX;
+        this.mouseY = mouseY;
+    }
+
+    public boolean isKeyPressed(int keyCode) {
+        for (int i = 0; i < KEYS.length; i++) {
+            if (KEYS[i] == keyCode)
+                return (buttons & (1 << i)) != 0;
+        }
+        return false;
+    }
+
+    public boolean isMovingUp() {
+        return isKeyPressed(KeyEvent.VK_W);
+    }
+
+    public boolean isMovingDown() {
+        return isKeyPressed(KeyEvent.VK_S);
+    }
+
+    public boolean isMovingLeft() {
+        return isKeyPressed(KeyEvent.VK_A);
+    }
+
+    public boolean isMovingRight() {
+        return isKeyPressed(KeyEvent.VK_D);
+    }
+
+    public boolean isAttacking() {
+        return (buttons & MOUSE_PRESSED) != 0;
+    }
+
+    public boolean isSwitchingToMelee() {
+        return isKeyPressed(KeyEvent.VK_1);
+    }
+
+    public boolean isSwitchingToRanged() {
+        return isKeyPressed(KeyEvent.VK_2);
+    }
+
+    public boolean isRunning() {
+        return isKeyPressed(KeyEvent.VK_SHIFT);
+    }
+
+    public int getButtons() {
+        return buttons;
+    }
+
+    public float getMouseX() {
+        return mouseX;
+    }
+
+    public float getMouseY() {
+        return mouseY;
+    }
+}
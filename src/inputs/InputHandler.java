@@ -9,31 +9,58 @@ public class InputHandler {
     private float mouseY;
     private boolean mousePressed;
 
-    public void keyPressed(int keyCode) {
+    public synchronized void keyPressed(int keyCode) {
         if (keyCode < keys.length)
             keys[keyCode] = true;
     }
 
-    public void keyReleased(int keyCode) {
+    public synchronized void keyReleased(int keyCode) {
         if (keyCode < keys.length)
             keys[keyCode] = false;
     }
 
-    public void mousePressed(MouseEvent e) {
+    public synchronized void mousePressed(MouseEvent e) {
         mouseX = e.getX();
         mouseY = e.getY();
         mousePressed = true;
     }
 
-    public void mouseReleased(MouseEvent e) {
+    public synchronized void mouseReleased(MouseEvent e) {
         mousePressed = false;
     }
 
-    public void mouseMoved(MouseEvent e) {
+    public synchronized void mouseMoved(MouseEvent e) {
         mouseX = e.getX();
         mouseY = e.getY();
     }
 
+    public synchronized void setMousePosition(float mouseX, float mouseY) {
+        this.mouseX = mouseX;
+        this.mouseY = mouseY;
+    }
+
+    public synchronized void setMousePressed(boolean mousePressed) {
+        this.mousePressed = mousePressed;
+    }
+
+    public synchronized void releaseAll() {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = false;
+        }
+        mousePressed = false;
+    }
+
+    public synchronized InputFrame snapshot() {
+        int buttons = 0;
+        for (int i = 0; i < InputFrame.KEYS.length; i++) {
+            if (keys[InputFrame.KEYS[i]])
+                buttons |= 1 << i;
+        }
+        if (mousePressed)
+            buttons |= InputFrame.MOUSE_PRESSED;
+        return new InputFrame(buttons, mouseX, mouseY);
+    }
+
     public boolean isKeyPressed(int keyCode) {
         return keyCode < keys.length && keys[keyCode];
     }
@@ -78,7 +105,7 @@ public class InputHandler {
         return mouseY;
     }
 
-    public void reset() {
+    public synchronized void reset() {
         mousePressed = false;
     }
 }
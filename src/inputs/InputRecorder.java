@@ -0,0 +1,87 @@
+package inputs;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import world.Level;
+
+public class InputRecorder implements Closeable {
+    public static final int MAGIC = 0x5A524543;
+    public static final short VERSION = 1;
+    public static final int CHECKPOINT_INTERVAL = 60;
+
+    static final int MOUSE_MOVED = 1;
+    static final int CHECKPOINT = 1 << 1;
+    static final int END = 1 << 7;
+
+    private final DataOutputStream out;
+    private final Path path;
+    private long ticks;
+    private int pendingInput;
+    private boolean pendingMouseMoved;
+    private float mouseX;
+    private float mouseY;
+    private boolean closed;
+
+    public InputRecorder(Path path, long seed, int tickRate, int windowWidth, int windowHeight) throws IOException {
+        this.path = path;
+        this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(path))));
+        this.mouseX = Float.NaN;
+        this.mouseY = Float.NaN;
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(seed);
+        out.writeInt(tickRate);
+        out.writeInt(windowWidth);
+        out.writeInt(windowHeight);
+    }
+
+    public void capture(InputFrame input) {
+        pendingInput = input.getButtons();
+
+        pendingMouseMoved = Float.floatToIntBits(input.getMouseX()) != Float.floatToIntBits(mouseX)
+                || Float.floatToIntBits(input.getMouseY()) != Float.floatToIntBits(mouseY);
+        mouseX = input.getMouseX();
+        mouseY = input.getMouseY();
+    }
+
+    public void endTick(Level level) throws IOException {
+        ticks++;
+        boolean checkpoint = ticks % CHECKPOINT_INTERVAL == 0;
+        int extras = (pendingMouseMoved ? MOUSE_MOVED : 0) | (checkpoint ? CHECKPOINT : 0);
+
+        out.writeByte(pendingInput);
+        out.writeByte(extras);
+        if (pendingMouseMoved) {
+            out.writeFloat(mouseX);
+            out.writeFloat(mouseY);
+        }
+        if (checkpoint)
+            out.writeLong(level.getStateChecksum());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            out.writeByte(0);
+            out.writeByte(END);
+        } finally {
+            out.close();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+}
@@ -0,0 +1,136 @@
+package inputs;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import world.Level;
+
+public class InputReplay implements Closeable {
+    private final DataInputStream in;
+    private final Path path;
+    private final long seed;
+    private final int tickRate;
+    private final int windowWidth;
+    private final int windowHeight;
+    private long ticks;
+    private float mouseX;
+    private float mouseY;
+    private boolean checkpointPending;
+    private long expectedChecksum;
+    private long checkpoints;
+    private long firstDivergentTick;
+    private boolean finished;
+
+    public InputReplay(Path path) throws IOException {
+        this.path = path;
+        this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))));
+        try {
+            if (in.readInt() != InputRecorder.MAGIC)
+                throw new IOException("Not an input recording: " + path);
+            short version = in.readShort();
+            if (version != InputRecorder.VERSION)
+                throw new IOException("Unsupported input recording version " + version + ": " + path);
+            this.seed = in.readLong();
+            this.tickRate = in.readInt();
+            this.windowWidth = in.readInt();
+            this.windowHeight = in.readInt();
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        this.firstDivergentTick = -1;
+    }
+
+    public InputFrame next() throws IOException {
+        if (finished)
+            return null;
+
+        int bits;
+        int extras;
+        try {
+            bits = in.readUnsignedByte();
+            extras = in.readUnsignedByte();
+        } catch (EOFException e) {
+            System.err.println("Input recording ended without an end marker: " + path);
+            finished = true;
+            return null;
+        }
+        if ((extras & InputRecorder.END) != 0) {
+            finished = true;
+            return null;
+        }
+
+        if ((extras & InputRecorder.MOUSE_MOVED) != 0) {
+            mouseX = in.readFloat();
+            mouseY = in.readFloat();
+        }
+        checkpointPending = (extras & InputRecorder.CHECKPOINT) != 0;
+        if (checkpointPending)
+            expectedChecksum = in.readLong();
+
+        ticks++;
+        return new InputFrame(bits, mouseX, mouseY);
+    }
+
+    public boolean verify(Level level) {
+        if (!checkpointPending)
+            return true;
+        checkpointPending = false;
+        checkpoints++;
+        if (level.getStateChecksum() == expectedChecksum)
+            return true;
+        if (firstDivergentTick < 0)
+            firstDivergentTick = ticks;
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    public int getWindowWidth() {
+        return windowWidth;
+    }
+
+    public int getWindowHeight() {
+        return windowHeight;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getCheckpoints() {
+        return checkpoints;
+    }
+
+    public boolean isDiverged() {
+        return firstDivergentTick >= 0;
+    }
+
+    public long getFirstDivergentTick() {
+        return firstDivergentTick;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+}
@@ -1,9 +1,38 @@
 package main;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import inputs.InputReplay;
+
 public class App {
     public static void main(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--headless")) {
+                HeadlessRunner.main(args);
+                return;
+            }
+        }
+
         Game game = new Game(800, 600);
+        InputReplay replay = null;
+        for (String arg : args) {
+            if (arg.startsWith("--record=")) {
+                game.setInputRecordingPath(Paths.get(arg.substring("--record=".length())));
+            } else if (arg.startsWith("--replay=")) {
+                try {
+                    replay = new InputReplay(Paths.get(arg.substring("--replay=".length())));
+                    game.startReplay(replay);
+                } catch (IOException e) {
+                    System.err.println("Could not open input recording: " + e.getMessage());
+                }
+            } else {
+                System.err.println("Unknown option: " + arg);
+            }
+        }
+
         game.init();
+        if (replay != null)
+            game.startNewGame();
         game.gameLoop();
     }
-}
\ No newline at end of file
+}
@@ -1,20 +1,43 @@
 package main;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
 import entities.Player;
 import world.Level;
 import world.Environment;
 import world.TileMap;
 import ui.UI;
 import ui.GameWindow;
+import ui.RenderSnapshot;
+import inputs.InputFrame;
 import inputs.InputHandler;
+import inputs.InputRecorder;
+import inputs.InputReplay;
 import combat.MeleeWeapon;
 import combat.RangedWeapon;
+import utils.CollisionGrid;
+import utils.TripleBuffer;
+import utils.FrameProfiler;
+import utils.FlightEvents;
 
 public class Game {
     public enum GameState {
         LOADING, MENU, INFO, PLAYING, PAUSED, GAME_OVER, WIN, CREDITS
     }
 
+    private static final int DEFAULT_TICK_RATE = 60;
+    private static final int DEFAULT_MAX_CATCH_UP_TICKS = 5;
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+    private static final long STATS_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final String FLIGHT_SETTINGS = "profiling/gameplay.jfc";
+
     private int windowWidth;
     private int windowHeight;
     private Level currentLevel;
@@ -22,9 +45,27 @@ public class Game {
     private GameState gameState;
     private InputHandler inputHandler;
     private GameWindow gameWindow;
+    private final TripleBuffer<RenderSnapshot> renderBuffer;
+    private final FrameProfiler profiler;
+    private Recording flightRecording;
+    private Path inputRecordingPath;
+    private InputRecorder inputRecorder;
+    private InputReplay inputReplay;
     private boolean running;
-    private float deltaTime;
-    private long lastFrameTime;
+    private boolean seeded;
+    private long randomSeed;
+    private int tickRate;
+    private long tickNanos;
+    private float tickSeconds;
+    private int maxCatchUpTicks;
+    private volatile float interpolationAlpha;
+    private long totalTicks;
+    private long droppedTicks;
+    private long lastTickNanos;
+    private long lastFrameNanos;
+    private long maxTickNanos;
+    private float ticksPerSecond;
+    private float framesPerSecond;
 
     public Game(int windowWidth, int windowHeight) {
         this.windowWidth = windowWidth;
@@ -32,8 +73,10 @@ public class Game {
         this.gameState = GameState.LOADING;
         this.inputHandler = new InputHandler();
         this.running = false;
-        this.deltaTime = 0.016f;
-        this.lastFrameTime = System.currentTimeMillis();
+        this.renderBuffer = new TripleBuffer<>(new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot());
+        this.profiler = new FrameProfiler();
+        this.maxCatchUpTicks = DEFAULT_MAX_CATCH_UP_TICKS;
+        setTickRate(DEFAULT_TICK_RATE);
     }
 
     public void init() {
@@ -45,27 +88,23 @@ public class Game {
         ui.setCurrentState(UI.UIState.MAIN_MENU);
     }
 
+    public void initHeadless() {
+        running = true;
+        ui = new UI();
+
+        gameState = GameState.MENU;
+        ui.setCurrentState(UI.UIState.MAIN_MENU);
+    }
+
     public void startNewGame() {
         Environment environment = new Environment(windowWidth, windowHeight, 32);
         TileMap tileMap = new TileMap(environment.getTileSize());
         try {
             tileMap.loadMap("assets/maps/map1.txt");
 
-            int[][] envGrid = environment.getCollisionTiles();
-            int envRows = envGrid.length;
-            int envCols = envGrid[0].length;
-            int[][] mapGrid = tileMap.getCollisionGrid();
-            int[][] finalGrid = new int[envRows][envCols];
-            for (int r = 0; r < envRows; r++) {
-                for (int c = 0; c < envCols; c++) {
-                    if (r < mapGrid.length && c < mapGrid[0].length) {
-                        finalGrid[r][c] = mapGrid[r][c];
-                    } else {
-                        finalGrid[r][c] = 0;
-                    }
-                }
-            }
-            environment.setCollisionTiles(finalGrid);
+            CollisionGrid envGrid = environment.getCollisionGrid();
+            CollisionGrid finalGrid = tileMap.getCollisionGrid(envGrid.getCols(), envGrid.getRows());
+            environment.setCollisionGrid(finalGrid);
             environment.ensureBorders();
         } catch (Exception e) {
             initializeEnvironmentCollisions(environment);
@@ -80,8 +119,18 @@ public class Game {
         player.setCurrentWeapon(melee);
         player.setAmmo("bullet", 10);
 
+        stopInputRecording();
+        if (inputRecordingPath != null && !seeded)
+            setRandomSeed(System.nanoTime());
+
         currentLevel = new Level(1, environment, player);
         currentLevel.setTileMap(tileMap);
+        currentLevel.setProfiler(profiler);
+        if (seeded)
+            currentLevel.setRandomSeed(randomSeed);
+
+        if (inputRecordingPath != null)
+            startInputRecording();
 
         player.setLevel(currentLevel);
 
@@ -93,48 +142,92 @@ public class Game {
     }
 
     private void initializeEnvironmentCollisions(Environment environment) {
-        int[][] collisionTiles = environment.getCollisionTiles();
+        CollisionGrid collisionGrid = environment.getCollisionGrid();
         int mapWidth = environment.getWidth() / environment.getTileSize();
         int mapHeight = environment.getHeight() / environment.getTileSize();
 
         for (int x = 0; x < mapWidth; x++) {
-            collisionTiles[0][x] = 1;
-            collisionTiles[mapHeight - 1][x] = 1;
+            collisionGrid.set(x, 0, true);
+            collisionGrid.set(x, mapHeight - 1, true);
         }
         for (int y = 0; y < mapHeight; y++) {
-            collisionTiles[y][0] = 1;
-            collisionTiles[y][mapWidth - 1] = 1;
+            collisionGrid.set(0, y, true);
+            collisionGrid.set(mapWidth - 1, y, true);
         }
         environment.ensureBorders();
     }
 
     public void gameLoop() {
+        long previousTime = System.nanoTime();
+        long accumulator = 0;
+        long windowStart = previousTime;
+        int windowTicks = 0;
+        int windowFrames = 0;
+
         while (running) {
-            updateDeltaTime();
-            update(deltaTime);
+            long frameStart = System.nanoTime();
+            long elapsed = frameStart - previousTime;
+            previousTime = frameStart;
+            lastFrameNanos = elapsed;
+
+            accumulator += elapsed;
+            long maxBacklog = tickNanos * maxCatchUpTicks;
+            if (accumulator > maxBacklog) {
+                droppedTicks += (accumulator - maxBacklog) / tickNanos;
+                accumulator = maxBacklog;
+            }
+
+            while (accumulator >= tickNanos) {
+                long tickStart = System.nanoTime();
+                update(tickSeconds);
+                lastTickNanos = System.nanoTime() - tickStart;
+                profiler.record(FrameProfiler.Phase.TICK, lastTickNanos);
+                if (lastTickNanos > maxTickNanos)
+                    maxTickNanos = lastTickNanos;
+                accumulator -= tickNanos;
+                totalTicks++;
+                windowTicks++;
+            }
+
+            interpolationAlpha = accumulator / (float) tickNanos;
             gameWindow.update();
+            profiler.endFrame(elapsed);
+            windowFrames++;
+
+            if (frameStart - windowStart >= STATS_WINDOW_NANOS) {
+                float seconds = (frameStart - windowStart) / (float) STATS_WINDOW_NANOS;
+                ticksPerSecond = windowTicks / seconds;
+                framesPerSecond = windowFrames / seconds;
+                windowStart = frameStart;
+                windowTicks = 0;
+                windowFrames = 0;
+            }
 
-            try {
-                Thread.sleep(16);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+            waitUntil(frameStart + tickNanos - accumulator);
+            if (Thread.currentThread().isInterrupted())
                 break;
-            }
         }
         System.exit(0);
     }
 
-    private void updateDeltaTime() {
-        long currentTime = System.currentTimeMillis();
-        deltaTime = (currentTime - lastFrameTime) / 1000.0f;
-        lastFrameTime = currentTime;
-
-        if (deltaTime > 0.033f) {
-            deltaTime = 0.033f;
+    private void waitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        while (remaining > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+            if (Thread.currentThread().isInterrupted())
+                return;
+            remaining = deadline - System.nanoTime();
         }
     }
 
     public void update(float dt) {
+        FlightEvents.GameUpdateEvent event = new FlightEvents.GameUpdateEvent();
+        event.begin();
+
         switch (gameState) {
             case PLAYING:
                 updatePlaying(dt);
@@ -148,16 +241,46 @@ public class Game {
         }
 
         inputHandler.reset();
+        publishRenderSnapshot();
+
+        if (event.shouldCommit()) {
+            event.state = gameState.name();
+            event.dt = dt;
+            event.commit();
+        }
+    }
+
+    private void publishRenderSnapshot() {
+        if (gameWindow == null)
+            return;
+        renderBuffer.getBack().capture(currentLevel);
+        renderBuffer.publish();
+    }
+
+    public RenderSnapshot acquireRenderSnapshot() {
+        return renderBuffer.acquire();
     }
 
     private void updatePlaying(float dt) {
         if (currentLevel != null) {
             Player player = currentLevel.getPlayer();
+            InputFrame input = (inputReplay != null) ? readReplayInput() : inputHandler.snapshot();
+            if (input == null)
+                return;
+            if (inputRecorder != null)
+                inputRecorder.capture(input);
 
-            player.handleInput(inputHandler);
+            long start = profiler.begin();
+            player.handleInput(input, dt);
+            profiler.end(FrameProfiler.Phase.INPUT, start);
 
             currentLevel.update(dt);
 
+            if (inputRecorder != null)
+                recordInputTick();
+            if (inputReplay != null)
+                inputReplay.verify(currentLevel);
+
             if (player.getLives() <= 0) {
                 gameState = GameState.GAME_OVER;
                 ui.showDeathScreen();
@@ -174,6 +297,30 @@ public class Game {
                     }
                 }
             }
+
+            if (gameState != GameState.PLAYING)
+                stopInputRecording();
+        }
+    }
+
+    private InputFrame readReplayInput() {
+        try {
+            InputFrame input = inputReplay.next();
+            if (input != null)
+                return input;
+        } catch (IOException e) {
+            System.err.println("Could not read input recording: " + e.getMessage());
+        }
+        stopReplay();
+        return null;
+    }
+
+    private void recordInputTick() {
+        try {
+            inputRecorder.endTick(currentLevel);
+        } catch (IOException e) {
+            System.err.println("Could not write input recording: " + e.getMessage());
+            stopInputRecording();
         }
     }
 
@@ -211,6 +358,8 @@ public class Game {
 
     public void quit() {
         running = false;
+        stopInputRecording();
+        stopFlightRecording();
         System.exit(0);
     }
 
@@ -310,6 +459,180 @@ public class Game {
         this.running = running;
     }
 
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+        this.seeded = true;
+    }
+
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    public void setTickRate(int tickRate) {
+        this.tickRate = Math.max(1, tickRate);
+        this.tickNanos = TimeUnit.SECONDS.toNanos(1) / this.tickRate;
+        this.tickSeconds = 1.0f / this.tickRate;
+    }
+
+    public float getTickSeconds() {
+        return tickSeconds;
+    }
+
+    public int getMaxCatchUpTicks() {
+        return maxCatchUpTicks;
+    }
+
+    public void setMaxCatchUpTicks(int maxCatchUpTicks) {
+        this.maxCatchUpTicks = Math.max(1, maxCatchUpTicks);
+    }
+
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    public float getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public float getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    public void startFlightRecording() {
+        if (flightRecording != null)
+            return;
+        try {
+            Path settings = Paths.get(FLIGHT_SETTINGS);
+            Configuration configuration = Files.exists(settings) ? Configuration.create(settings)
+                    : Configuration.getConfiguration("profile");
+            Recording recording = new Recording(configuration);
+            recording.setName("Zompocalypse");
+            recording.setToDisk(true);
+            recording.start();
+            flightRecording = recording;
+        } catch (IOException | ParseException e) {
+            System.err.println("Could not start flight recording: " + e.getMessage());
+        }
+    }
+
+    public Path stopFlightRecording() {
+        if (flightRecording == null)
+            return null;
+        Path destination = Paths.get("zompocalypse-" + System.currentTimeMillis() + ".jfr");
+        try {
+            flightRecording.dump(destination);
+            System.out.println("Flight recording written to " + destination.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write flight recording: " + e.getMessage());
+            destination = null;
+        } finally {
+            flightRecording.close();
+            flightRecording = null;
+        }
+        return destination;
+    }
+
+    public void toggleFlightRecording() {
+        if (flightRecording == null) {
+            startFlightRecording();
+        } else {
+            stopFlightRecording();
+        }
+    }
+
+    public boolean isFlightRecording() {
+        return flightRecording != null;
+    }
+
+    public Path getInputRecordingPath() {
+        return inputRecordingPath;
+    }
+
+    public void setInputRecordingPath(Path inputRecordingPath) {
+        this.inputRecordingPath = inputRecordingPath;
+    }
+
+    private void startInputRecording() {
+        try {
+            inputRecorder = new InputRecorder(inputRecordingPath, randomSeed, tickRate, windowWidth, windowHeight);
+        } catch (IOException e) {
+            System.err.println("Could not start input recording: " + e.getMessage());
+        }
+    }
+
+    public void stopInputRecording() {
+        if (inputRecorder == null)
+            return;
+        try {
+            inputRecorder.close();
+            System.out.println("Input recording of " + inputRecorder.getTicks() + " ticks written to "
+                    + inputRecorder.getPath().toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write input recording: " + e.getMessage());
+        } finally {
+            inputRecorder = null;
+        }
+    }
+
+    public boolean isInputRecording() {
+        return inputRecorder != null;
+    }
+
+    public void startReplay(InputReplay replay) {
+        stopReplay();
+        inputReplay = replay;
+        setTickRate(replay.getTickRate());
+        setRandomSeed(replay.getSeed());
+        windowWidth = replay.getWindowWidth();
+        windowHeight = replay.getWindowHeight();
+    }
+
+    public void stopReplay() {
+        if (inputReplay == null)
+            return;
+        try {
+            inputReplay.close();
+        } catch (IOException e) {
+            System.err.println("Could not close input recording: " + e.getMessage());
+        }
+        if (inputReplay.isDiverged()) {
+            System.out.println("Replay of " + inputReplay.getTicks() + " ticks diverged at tick "
+                    + inputReplay.getFirstDivergentTick());
+        } else {
+            System.out.println("Replay of " + inputReplay.getTicks() + " ticks matched "
+                    + inputReplay.getCheckpoints() + " checkpoints");
+        }
+        inputReplay = null;
+    }
+
+    public boolean isReplaying() {
+        return inputReplay != null;
+    }
+
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
     public InputHandler getInputHandler() {
         return inputHandler;
     }
@@ -0,0 +1,240 @@
+package main;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import inputs.BotInput;
+import inputs.InputReplay;
+import utils.FrameProfiler;
+import utils.LatencyHistogram;
+import world.Level;
+
+public class HeadlessRunner {
+    private final Game game;
+    private final BotInput bot;
+    private final InputReplay replay;
+    private final int ticks;
+    private final boolean restart;
+    private boolean flightRecording;
+    private Path profilePath;
+
+    private long[] tickNanos;
+    private int peakZombies;
+    private int peakProjectiles;
+    private int games;
+    private int gamesLost;
+    private int gamesWon;
+    private int highestWave;
+
+    public HeadlessRunner(long seed, int ticks, int tickRate, boolean restart) {
+        this.game = new Game(800, 600);
+        this.game.setTickRate(tickRate);
+        this.game.setRandomSeed(seed);
+        this.bot = new BotInput(seed);
+        this.replay = null;
+        this.ticks = ticks;
+        this.restart = restart;
+    }
+
+    public HeadlessRunner(InputReplay replay, int ticks) {
+        this.game = new Game(replay.getWindowWidth(), replay.getWindowHeight());
+        this.game.startReplay(replay);
+        this.bot = null;
+        this.replay = replay;
+        this.ticks = ticks;
+        this.restart = false;
+    }
+
+    public static void main(String[] args) {
+        long seed = 42;
+        int ticks = 36000;
+        int tickRate = 60;
+        boolean restart = true;
+        boolean flightRecording = false;
+        boolean ticksGiven = false;
+        Path recordPath = null;
+        Path replayPath = null;
+        Path profilePath = null;
+        for (String arg : args) {
+            if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring("--seed=".length()));
+            } else if (arg.startsWith("--ticks=")) {
+                ticks = Integer.parseInt(arg.substring("--ticks=".length()));
+                ticksGiven = true;
+            } else if (arg.startsWith("--tick-rate=")) {
+                tickRate = Integer.parseInt(arg.substring("--tick-rate=".length()));
+            } else if (arg.equals("--no-restart")) {
+                restart = false;
+            } else if (arg.equals("--jfr")) {
+                flightRecording = true;
+            } else if (arg.startsWith("--record=")) {
+                recordPath = Paths.get(arg.substring("--record=".length()));
+            } else if (arg.startsWith("--replay=")) {
+                replayPath = Paths.get(arg.substring("--replay=".length()));
+            } else if (arg.startsWith("--profile-out=")) {
+                profilePath = Paths.get(arg.substring("--profile-out=".length()));
+            } else if (!arg.equals("--headless")) {
+                System.err.println("Unknown option: " + arg);
+            }
+        }
+
+        HeadlessRunner runner;
+        if (replayPath != null) {
+            try {
+                runner = new HeadlessRunner(new InputReplay(replayPath), ticksGiven ? ticks : Integer.MAX_VALUE);
+            } catch (IOException e) {
+                System.err.println("Could not open input recording: " + e.getMessage());
+                return;
+            }
+        } else {
+            runner = new HeadlessRunner(seed, ticks, tickRate, restart && recordPath == null);
+            runner.getGame().setInputRecordingPath(recordPath);
+        }
+        runner.setFlightRecording(flightRecording);
+        runner.setProfilePath(profilePath);
+        runner.run();
+    }
+
+    public void run() {
+        game.initHeadless();
+        FrameProfiler profiler = game.getProfiler();
+        if (profilePath != null)
+            profiler.setEnabled(true);
+        if (flightRecording)
+            game.startFlightRecording();
+        startGame();
+
+        tickNanos = new long[Math.min(ticks, 1 << 16)];
+        float dt = game.getTickSeconds();
+        int completed = 0;
+        long begin = System.nanoTime();
+        for (; completed < ticks; completed++) {
+            if (isFinished(game.getGameState())) {
+                recordResult(game.getGameState());
+                if (!restart)
+                    break;
+                startGame();
+            }
+
+            if (bot != null)
+                bot.drive(game.getInputHandler(), game.getCurrentLevel());
+            long tickStart = System.nanoTime();
+            game.update(dt);
+            long elapsed = System.nanoTime() - tickStart;
+            if (replay != null && replay.isFinished())
+                break;
+
+            if (completed == tickNanos.length)
+                tickNanos = Arrays.copyOf(tickNanos, tickNanos.length * 2);
+            tickNanos[completed] = elapsed;
+            profiler.record(FrameProfiler.Phase.TICK, elapsed);
+            profiler.endFrame(elapsed);
+
+            Level level = game.getCurrentLevel();
+            peakZombies = Math.max(peakZombies, level.getZombies().size());
+            peakProjectiles = Math.max(peakProjectiles, level.getProjectiles().size());
+            highestWave = Math.max(highestWave, level.getWave());
+        }
+        long elapsed = System.nanoTime() - begin;
+        game.stopInputRecording();
+        game.stopReplay();
+        if (flightRecording)
+            game.stopFlightRecording();
+
+        printSummary(completed, elapsed, dt);
+        if (profilePath != null)
+            writeProfile(profiler);
+    }
+
+    private void startGame() {
+        game.startNewGame();
+        games++;
+    }
+
+    private static boolean isFinished(Game.GameState state) {
+        return state == Game.GameState.GAME_OVER || state == Game.GameState.WIN;
+    }
+
+    private void recordResult(Game.GameState state) {
+        if (state == Game.GameState.WIN) {
+            gamesWon++;
+        } else {
+            gamesLost++;
+        }
+    }
+
+    private void printSummary(int completed, long elapsed, float dt) {
+        if (completed == 0) {
+            System.out.println("No ticks simulated");
+            return;
+        }
+
+        long[] sorted = Arrays.copyOf(tickNanos, completed);
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long nanos : sorted) {
+            total += nanos;
+        }
+
+        Level level = game.getCurrentLevel();
+        double seconds = elapsed / 1e9;
+        System.out.printf("ticks=%d simulated=%.1fs wall=%.2fs speedup=%.1fx%n", completed, completed * dt, seconds,
+                completed * dt / seconds);
+        System.out.printf("ticks/s=%.0f mean=%.3fms p50=%.3fms p99=%.3fms max=%.3fms%n", completed / seconds,
+                total / 1e6 / completed, percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                sorted[completed - 1] / 1e6);
+        System.out.printf("zombies=%d peakZombies=%d projectiles=%d peakProjectiles=%d%n", level.getZombies().size(),
+                peakZombies, level.getProjectiles().size(), peakProjectiles);
+        System.out.printf("games=%d won=%d lost=%d highestWave=%d state=%s%n", games, gamesWon, gamesLost,
+                highestWave, game.getGameState());
+    }
+
+    private void writeProfile(FrameProfiler profiler) {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(profilePath))) {
+            out.println("phase,count,mean_us,p50_us,p90_us,p99_us,max_us");
+            for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+                LatencyHistogram histogram = profiler.getHistogram(phase);
+                if (histogram.getCount() > 0)
+                    writeProfileRow(out, phase.getLabel(), histogram);
+            }
+            System.out.println("Profile written to " + profilePath.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write profile: " + e.getMessage());
+        }
+    }
+
+    private static void writeProfileRow(PrintWriter out, String label, LatencyHistogram histogram) {
+        out.printf(Locale.ROOT, "%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f%n", label, histogram.getCount(),
+                histogram.getMean() / 1e3, histogram.getPercentile(0.50) / 1e3, histogram.getPercentile(0.90) / 1e3,
+                histogram.getPercentile(0.99) / 1e3, histogram.getMax() / 1e3);
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public Path getProfilePath() {
+        return profilePath;
+    }
+
+    public void setProfilePath(Path profilePath) {
+        this.profilePath = profilePath;
+    }
+
+    public boolean isFlightRecording() {
+        return flightRecording;
+    }
+
+    public void setFlightRecording(boolean flightRecording) {
+        this.flightRecording = flightRecording;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
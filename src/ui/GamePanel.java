@@ -4,19 +4,16 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import main.Game;
-import world.Level;
 import world.TileMap;
-import entities.Zombie;
-import combat.Projectile;
-import entities.Player;
-import entities.Character;
-import java.util.ArrayList;
-import java.util.List;
+import utils.FrameProfiler;
+import utils.FlightEvents;
 
 public class GamePanel extends JPanel {
     private Game game;
     private BufferedImage buffer;
     private Graphics2D g2d;
+    private long lastSnapshotTick;
+    private int lastZombieCount;
 
     public GamePanel(Game game) {
         this.game = game;
@@ -33,14 +30,31 @@ public class GamePanel extends JPanel {
             buffer = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
         }
 
+        FlightEvents.RenderEvent event = new FlightEvents.RenderEvent();
+        event.begin();
+        FrameProfiler profiler = game.getProfiler();
+        long start = profiler.begin();
+
         g2d = buffer.createGraphics();
         g2d.setColor(Color.BLACK);
         g2d.fillRect(0, 0, getWidth(), getHeight());
 
         renderGame(g2d);
+        profiler.endRender(start);
+
+        FrameProfiler.Snapshot snapshot = profiler.getSnapshot();
+        if (profiler.isOverlayVisible() && snapshot != null)
+            drawProfilerOverlay(g2d, snapshot);
 
         g.drawImage(buffer, 0, 0, null);
         g2d.dispose();
+
+        if (event.shouldCommit()) {
+            event.state = game.getGameState().name();
+            event.snapshotTick = lastSnapshotTick;
+            event.zombies = lastZombieCount;
+            event.commit();
+        }
     }
 
     private void renderGame(Graphics2D g) {
@@ -173,6 +187,7 @@ public class GamePanel extends JPanel {
                 "1 : Switch to Melee",
                 "2 : Switch to Ranged",
                 "P : Pause Game",
+                "F3 : Toggle Profiler",
                 "R : Restart (on Game Over)",
                 "Q : Quit",
                 "",
@@ -191,9 +206,12 @@ public class GamePanel extends JPanel {
     }
 
     private void drawGameplay(Graphics2D g) {
-        Level level = game.getCurrentLevel();
-        if (level == null)
+        RenderSnapshot snapshot = game.acquireRenderSnapshot();
+        if (!snapshot.isValid())
             return;
+        lastSnapshotTick = snapshot.getTick();
+        lastZombieCount = snapshot.getZombieCount();
+        float alpha = game.getInterpolationAlpha();
 
         GradientPaint gradient = new GradientPaint(0, 0, new Color(30, 30, 30), 0, getHeight(), new Color(50, 50, 50));
         g.setPaint(gradient);
@@ -206,32 +224,30 @@ public class GamePanel extends JPanel {
         for (int y = 0; y < getHeight(); y += 32)
             g.drawLine(0, y, getWidth(), y);
 
-        TileMap tileMap = level.getTileMap();
+        TileMap tileMap = snapshot.getTileMap();
         if (tileMap != null) {
             tileMap.render(g, 0, 0);
         }
 
-        List<Zombie> zombies = new ArrayList<>(level.getZombies());
-        for (Zombie zombie : zombies) {
-            drawZombie(g, zombie);
+        for (int i = 0; i < snapshot.getZombieCount(); i++) {
+            drawZombie(g, snapshot, i, alpha);
         }
 
-        List<Projectile> projectiles = new ArrayList<>(level.getProjectiles());
-        for (Projectile p : projectiles) {
-            if (p.isActive())
-                p.render(g);
+        g.setColor(Color.RED);
+        for (int i = 0; i < snapshot.getProjectileCount(); i++) {
+            g.fillOval((int) snapshot.getProjectileX(i, alpha), (int) snapshot.getProjectileY(i, alpha),
+                    snapshot.getProjectileWidth(i), snapshot.getProjectileHeight(i));
         }
 
-        Player player = level.getPlayer();
-        drawPlayer(g, player);
-        drawHUD(g, player, level);
+        drawPlayer(g, snapshot, alpha);
+        drawHUD(g, snapshot);
     }
 
-    private void drawPlayer(Graphics2D g, Player player) {
-        int x = (int) player.getX();
-        int y = (int) player.getY();
-        int width = player.getWidth();
-        int height = player.getHeight();
+    private void drawPlayer(Graphics2D g, RenderSnapshot snapshot, float alpha) {
+        int x = (int) snapshot.getPlayerX(alpha);
+        int y = (int) snapshot.getPlayerY(alpha);
+        int width = snapshot.getPlayerWidth();
+        int height = snapshot.getPlayerHeight();
 
         float scale = 2.0f;
         int drawWidth = (int) (width * scale);
@@ -239,9 +255,9 @@ public class GamePanel extends JPanel {
         int drawX = x + (width - drawWidth) / 2;
         int drawY = y + (height - drawHeight) / 2;
 
-        BufferedImage frame = player.getCurrentFrame();
+        BufferedImage frame = snapshot.getPlayerFrame();
         if (frame != null) {
-            if (player.isFacingRight()) {
+            if (snapshot.isPlayerFacingRight()) {
                 g.drawImage(frame, drawX, drawY, drawWidth, drawHeight, null);
             } else {
                 g.drawImage(frame, drawX + drawWidth, drawY, -drawWidth, drawHeight, null);
@@ -257,11 +273,11 @@ public class GamePanel extends JPanel {
         }
     }
 
-    private void drawZombie(Graphics2D g, Zombie zombie) {
-        int x = (int) zombie.getX();
-        int y = (int) zombie.getY();
-        int width = zombie.getWidth();
-        int height = zombie.getHeight();
+    private void drawZombie(Graphics2D g, RenderSnapshot snapshot, int index, float alpha) {
+        int x = (int) snapshot.getZombieX(index, alpha);
+        int y = (int) snapshot.getZombieY(index, alpha);
+        int width = snapshot.getZombieWidth(index);
+        int height = snapshot.getZombieHeight(index);
 
         float scale = 2.0f;
         int drawWidth = (int) (width * scale);
@@ -269,9 +285,9 @@ public class GamePanel extends JPanel {
         int drawX = x + (width - drawWidth) / 2;
         int drawY = y + (height - drawHeight) / 2;
 
-        BufferedImage frame = zombie.getCurrentFrame();
+        BufferedImage frame = snapshot.getZombieFrame(index);
         if (frame != null) {
-            if (zombie.isFacingRight()) {
+            if (snapshot.isZombieFacingRight(index)) {
                 g.drawImage(frame, drawX, drawY, drawWidth, drawHeight, null);
             } else {
                 g.drawImage(frame, drawX + drawWidth, drawY, -drawWidth, drawHeight, null);
@@ -288,19 +304,19 @@ public class GamePanel extends JPanel {
             g.setStroke(new BasicStroke(2));
             g.drawRect(x, y, width, height);
         }
-        drawEntityHealthBar(g, zombie, x, y);
+        drawEntityHealthBar(g, width, snapshot.getZombieHp(index), snapshot.getZombieMaxHp(index), x, y);
     }
 
-    private void drawEntityHealthBar(Graphics2D g, Character character, int x, int y) {
+    private void drawEntityHealthBar(Graphics2D g, int width, int hp, int maxHp, int x, int y) {
         int barWidth = 30;
         int barHeight = 4;
-        int barX = x + (character.getWidth() - barWidth) / 2;
+        int barX = x + (width - barWidth) / 2;
         int barY = y - 15;
 
         g.setColor(Color.BLACK);
         g.fillRect(barX, barY, barWidth, barHeight);
 
-        float healthPercent = (float) character.getHp() / character.getMaxHp();
+        float healthPercent = (float) hp / maxHp;
         g.setColor(healthPercent > 0.5f ? Color.GREEN : (healthPercent > 0.25f ? Color.YELLOW : Color.RED));
         g.fillRect(barX, barY, (int) (barWidth * healthPercent), barHeight);
 
@@ -308,26 +324,27 @@ public class GamePanel extends JPanel {
         g.drawRect(barX, barY, barWidth, barHeight);
     }
 
-    private void drawHUD(Graphics2D g, Player player, Level level) {
+    private void drawHUD(Graphics2D g, RenderSnapshot snapshot) {
         g.setColor(Color.WHITE);
         g.setFont(new Font("Arial", Font.PLAIN, 16));
 
-        g.drawString("Health: " + player.getHp() + "/" + player.getMaxHp(), 10, 25);
-        g.drawString("Lives: " + player.getLives(), 10, 50);
+        g.drawString("Health: " + snapshot.getPlayerHp() + "/" + snapshot.getPlayerMaxHp(), 10, 25);
+        g.drawString("Lives: " + snapshot.getPlayerLives(), 10, 50);
 
-        if (player.getCurrentWeapon() != null) {
-            g.drawString("Weapon: " + player.getCurrentWeapon().getName(), 10, 75);
+        if (snapshot.getWeaponName() != null) {
+            g.drawString("Weapon: " + snapshot.getWeaponName(), 10, 75);
         }
 
-        g.drawString("Wave: " + level.getWave(), getWidth() - 150, 25);
-        g.drawString("Zombies: " + level.getZombiesSpawned() + "/" + level.getZombiesRequired(), getWidth() - 150, 50);
+        g.drawString("Wave: " + snapshot.getWave(), getWidth() - 150, 25);
+        g.drawString("Zombies: " + snapshot.getZombiesSpawned() + "/" + snapshot.getZombiesRequired(), getWidth() - 150,
+                50);
         g.drawString("Press P to Pause", getWidth() - 150, 75);
 
-        drawHealthBar(g, player);
-        drawStaminaBar(g, player);
+        drawHealthBar(g, snapshot);
+        drawStaminaBar(g, snapshot);
     }
 
-    private void drawHealthBar(Graphics2D g, Player player) {
+    private void drawHealthBar(Graphics2D g, RenderSnapshot snapshot) {
         int barWidth = 200;
         int barHeight = 20;
         int x = 10, y = 120;
@@ -335,7 +352,7 @@ public class GamePanel extends JPanel {
         g.setColor(Color.DARK_GRAY);
         g.fillRect(x, y, barWidth, barHeight);
 
-        float healthPercent = (float) player.getHp() / player.getMaxHp();
+        float healthPercent = (float) snapshot.getPlayerHp() / snapshot.getPlayerMaxHp();
         g.setColor(healthPercent > 0.5f ? Color.GREEN : (healthPercent > 0.25f ? Color.YELLOW : Color.RED));
         g.fillRect(x, y, (int) (barWidth * healthPercent), barHeight);
 
@@ -343,14 +360,14 @@ public class GamePanel extends JPanel {
         g.drawRect(x, y, barWidth, barHeight);
     }
 
-    private void drawStaminaBar(Graphics2D g, Player player) {
+    private void drawStaminaBar(Graphics2D g, RenderSnapshot snapshot) {
         int barWidth = 150, barHeight = 10;
         int x = 10, y = 145;
 
         g.setColor(Color.DARK_GRAY);
         g.fillRect(x, y, barWidth, barHeight);
 
-        float staminaPercent = player.getStamina() / player.getMaxStamina();
+        float staminaPercent = snapshot.getPlayerStamina() / snapshot.getPlayerMaxStamina();
         g.setColor(Color.CYAN);
         g.fillRect(x, y, (int) (barWidth * staminaPercent), barHeight);
 
@@ -437,6 +454,63 @@ public class GamePanel extends JPanel {
         g.drawString(restart, x, y + 180);
     }
 
+    private void drawProfilerOverlay(Graphics2D g, FrameProfiler.Snapshot snapshot) {
+        int width = 300;
+        int graphHeight = 50;
+        int lineHeight = 14;
+        FrameProfiler.Phase[] phases = FrameProfiler.Phase.values();
+        FrameProfiler.Counter[] counters = FrameProfiler.Counter.values();
+        int height = 40 + graphHeight + (phases.length + counters.length + 2) * lineHeight;
+        int x = getWidth() - width - 10;
+        int y = 90;
+
+        g.setColor(new Color(0, 0, 0, 180));
+        g.fillRect(x, y, width, height);
+        g.setFont(new Font("Monospaced", Font.PLAIN, 12));
+
+        int textX = x + 10;
+        int textY = y + 16;
+        g.setColor(Color.WHITE);
+        g.drawString(String.format("FPS %5.1f  TPS %5.1f  tick p99 %.2fms", game.getFramesPerSecond(),
+                game.getTicksPerSecond(), snapshot.getP99Nanos(FrameProfiler.Phase.TICK) / 1e6),
+                textX, textY);
+
+        int graphX = textX;
+        int graphY = textY + 8;
+        int graphWidth = width - 20;
+        long budget = (long) (game.getTickSeconds() * 1e9);
+        g.setColor(new Color(60, 60, 60));
+        g.fillRect(graphX, graphY, graphWidth, graphHeight);
+        int samples = Math.min(graphWidth, snapshot.getFrameHistorySize());
+        for (int i = 0; i < samples; i++) {
+            long nanos = snapshot.getFrameHistory(i);
+            int barHeight = (int) Math.min(graphHeight, nanos * graphHeight / (2 * budget));
+            g.setColor(nanos > budget * 3 / 2 ? Color.RED : Color.GREEN);
+            g.drawLine(graphX + graphWidth - 1 - i, graphY + graphHeight, graphX + graphWidth - 1 - i,
+                    graphY + graphHeight - barHeight);
+        }
+        g.setColor(Color.YELLOW);
+        g.drawLine(graphX, graphY + graphHeight / 2, graphX + graphWidth, graphY + graphHeight / 2);
+
+        textY = graphY + graphHeight + 18;
+        g.setColor(Color.LIGHT_GRAY);
+        g.drawString(String.format("%-12s %7s %7s %7s", "phase (ms)", "last", "p50", "p99"), textX, textY);
+        g.setColor(Color.WHITE);
+        for (FrameProfiler.Phase phase : phases) {
+            textY += lineHeight;
+            g.drawString(String.format("%-12s %7.3f %7.3f %7.3f", phase.getLabel(),
+                    snapshot.getLastNanos(phase) / 1e6, snapshot.getMedianNanos(phase) / 1e6,
+                    snapshot.getP99Nanos(phase) / 1e6), textX, textY);
+        }
+
+        textY += lineHeight;
+        for (FrameProfiler.Counter counter : counters) {
+            textY += lineHeight;
+            g.drawString(String.format("%-16s %8d", counter.getLabel(), snapshot.getLastCount(counter)), textX,
+                    textY);
+        }
+    }
+
     public void render() {
         repaint();
     }
@@ -93,6 +93,12 @@ public class GameWindow extends JFrame {
                     game.setGameState(Game.GameState.MENU);
                 }
                 break;
+            case KeyEvent.VK_F3:
+                game.getProfiler().toggleOverlay();
+                break;
+            case KeyEvent.VK_F4:
+                game.toggleFlightRecording();
+                break;
             case KeyEvent.VK_ESCAPE:
                 game.quit();
                 break;
@@ -0,0 +1,308 @@
+package ui;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import combat.Projectile;
+import combat.ProjectilePool;
+import entities.Player;
+import entities.Zombie;
+import world.Level;
+import world.TileMap;
+import world.ZombieStore;
+
+public class RenderSnapshot {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private boolean valid;
+    private long tick;
+    private TileMap tileMap;
+    private int wave;
+    private int zombiesSpawned;
+    private int zombiesRequired;
+
+    private float playerX;
+    private float playerY;
+    private float playerPreviousX;
+    private float playerPreviousY;
+    private int playerWidth;
+    private int playerHeight;
+    private boolean playerFacingRight;
+    private BufferedImage playerFrame;
+    private int playerHp;
+    private int playerMaxHp;
+    private int playerLives;
+    private float playerStamina;
+    private float playerMaxStamina;
+    private String weaponName;
+
+    private int zombieCount;
+    private float[] zombieX;
+    private float[] zombieY;
+    private float[] zombiePreviousX;
+    private float[] zombiePreviousY;
+    private int[] zombieWidth;
+    private int[] zombieHeight;
+    private int[] zombieHp;
+    private int[] zombieMaxHp;
+    private boolean[] zombieFacingRight;
+    private BufferedImage[] zombieFrame;
+
+    private int projectileCount;
+    private float[] projectileX;
+    private float[] projectileY;
+    private float[] projectilePreviousX;
+    private float[] projectilePreviousY;
+    private int[] projectileWidth;
+    private int[] projectileHeight;
+
+    public RenderSnapshot() {
+        this.zombieX = new float[INITIAL_CAPACITY];
+        this.zombieY = new float[INITIAL_CAPACITY];
+        this.zombiePreviousX = new float[INITIAL_CAPACITY];
+        this.zombiePreviousY = new float[INITIAL_CAPACITY];
+        this.zombieWidth = new int[INITIAL_CAPACITY];
+        this.zombieHeight = new int[INITIAL_CAPACITY];
+        this.zombieHp = new int[INITIAL_CAPACITY];
+        this.zombieMaxHp = new int[INITIAL_CAPACITY];
+        this.zombieFacingRight = new boolean[INITIAL_CAPACITY];
+        this.zombieFrame = new BufferedImage[INITIAL_CAPACITY];
+        this.projectileX = new float[INITIAL_CAPACITY];
+        this.projectileY = new float[INITIAL_CAPACITY];
+        this.projectilePreviousX = new float[INITIAL_CAPACITY];
+        this.projectilePreviousY = new float[INITIAL_CAPACITY];
+        this.projectileWidth = new int[INITIAL_CAPACITY];
+        this.projectileHeight = new int[INITIAL_CAPACITY];
+    }
+
+    public void capture(Level level) {
+        if (level == null) {
+            valid = false;
+            return;
+        }
+
+        valid = true;
+        tick = level.getTick();
+        tileMap = level.getTileMap();
+        wave = level.getWave();
+        zombiesSpawned = level.getZombiesSpawned();
+        zombiesRequired = level.getZombiesRequired();
+
+        capturePlayer(level.getPlayer());
+        captureZombies(level.getZombieStore());
+        captureProjectiles(level.getProjectilePool());
+    }
+
+    private void capturePlayer(Player player) {
+        playerX = player.getX();
+        playerY = player.getY();
+        playerPreviousX = player.getPreviousX();
+        playerPreviousY = player.getPreviousY();
+        playerWidth = player.getWidth();
+        playerHeight = player.getHeight();
+        playerFacingRight = player.isFacingRight();
+        playerFrame = player.getCurrentFrame();
+        playerHp = player.getHp();
+        playerMaxHp = player.getMaxHp();
+        playerLives = player.getLives();
+        playerStamina = player.getStamina();
+        playerMaxStamina = player.getMaxStamina();
+        weaponName = player.getCurrentWeapon() != null ? player.getCurrentWeapon().getName() : null;
+    }
+
+    private void captureZombies(ZombieStore zombies) {
+        int count = zombies.size();
+        if (count > zombieX.length)
+            growZombies(Math.max(count, zombieX.length * 2));
+
+        for (int i = 0; i < count; i++) {
+            Zombie zombie = zombies.get(i);
+            zombieX[i] = zombies.getX(i);
+            zombieY[i] = zombies.getY(i);
+            zombiePreviousX[i] = zombies.getPreviousX(i);
+            zombiePreviousY[i] = zombies.getPreviousY(i);
+            zombieWidth[i] = zombie.getWidth();
+            zombieHeight[i] = zombie.getHeight();
+            zombieHp[i] = zombies.getHp(i);
+            zombieMaxHp[i] = zombies.getMaxHp(i);
+            zombieFacingRight[i] = zombie.isFacingRight();
+            zombieFrame[i] = zombie.getCurrentFrame();
+        }
+        for (int i = count; i < zombieCount; i++) {
+            zombieFrame[i] = null;
+        }
+        zombieCount = count;
+    }
+
+    private void captureProjectiles(ProjectilePool projectiles) {
+        int count = 0;
+        for (int i = 0; i < projectiles.size(); i++) {
+            Projectile projectile = projectiles.get(i);
+            if (!projectile.isActive())
+                continue;
+            if (count == projectileX.length)
+                growProjectiles(projectileX.length * 2);
+            projectileX[count] = projectile.getX();
+            projectileY[count] = projectile.getY();
+            projectilePreviousX[count] = projectile.getPreviousX();
+            projectilePreviousY[count] = projectile.getPreviousY();
+            projectileWidth[count] = projectile.getWidth();
+            projectileHeight[count] = projectile.getHeight();
+            count++;
+        }
+        projectileCount = count;
+    }
+
+    private void growZombies(int capacity) {
+        zombieX = Arrays.copyOf(zombieX, capacity);
+        zombieY = Arrays.copyOf(zombieY, capacity);
+        zombiePreviousX = Arrays.copyOf(zombiePreviousX, capacity);
+        zombiePreviousY = Arrays.copyOf(zombiePreviousY, capacity);
+        zombieWidth = Arrays.copyOf(zombieWidth, capacity);
+        zombieHeight = Arrays.copyOf(zombieHeight, capacity);
+        zombieHp = Arrays.copyOf(zombieHp, capacity);
+        zombieMaxHp = Arrays.copyOf(zombieMaxHp, capacity);
+        zombieFacingRight = Arrays.copyOf(zombieFacingRight, capacity);
+        zombieFrame = Arrays.copyOf(zombieFrame, capacity);
+    }
+
+    private void growProjectiles(int capacity) {
+        projectileX = Arrays.copyOf(projectileX, capacity);
+        projectileY = Arrays.copyOf(projectileY, capacity);
+        projectilePreviousX = Arrays.copyOf(projectilePreviousX, capacity);
+        projectilePreviousY = Arrays.copyOf(projectilePreviousY, capacity);
+        projectileWidth = Arrays.copyOf(projectileWidth, capacity);
+        projectileHeight = Arrays.copyOf(projectileHeight, capacity);
+    }
+
+    private static float lerp(float from, float to, float alpha) {
+        return from + (to - from) * alpha;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public TileMap getTileMap() {
+        return tileMap;
+    }
+
+    public int getWave() {
+        return wave;
+    }
+
+    public int getZombiesSpawned() {
+        return zombiesSpawned;
+    }
+
+    public int getZombiesRequired() {
+        return zombiesRequired;
+    }
+
+    public float getPlayerX(float alpha) {
+        return lerp(playerPreviousX, playerX, alpha);
+    }
+
+    public float getPlayerY(float alpha) {
+        return lerp(playerPreviousY, playerY, alpha);
+    }
+
+    public int getPlayerWidth() {
+        return playerWidth;
+    }
+
+    public int getPlayerHeight() {
+        return playerHeight;
+    }
+
+    public boolean isPlayerFacingRight() {
+        return playerFacingRight;
+    }
+
+    public BufferedImage getPlayerFrame() {
+        return playerFrame;
+    }
+
+    public int getPlayerHp() {
+        return playerHp;
+    }
+
+    public int getPlayerMaxHp() {
+        return playerMaxHp;
+    }
+
+    public int getPlayerLives() {
+        return playerLives;
+    }
+
+    public float getPlayerStamina() {
+        return playerStamina;
+    }
+
+    public float getPlayerMaxStamina() {
+        return playerMaxStamina;
+    }
+
+    public String getWeaponName() {
+        return weaponName;
+    }
+
+    public int getZombieCount() {
+        return zombieCount;
+    }
+
+    public float getZombieX(int index, float alpha) {
+        return lerp(zombiePreviousX[index], zombieX[index], alpha);
+    }
+
+    public float getZombieY(int index, float alpha) {
+        return lerp(zombiePreviousY[index], zombieY[index], alpha);
+    }
+
+    public int getZombieWidth(int index) {
+        return zombieWidth[index];
+    }
+
+    public int getZombieHeight(int index) {
+        return zombieHeight[index];
+    }
+
+    public int getZombieHp(int index) {
+        return zombieHp[index];
+    }
+
+    public int getZombieMaxHp(int index) {
+        return zombieMaxHp[index];
+    }
+
+    public boolean isZombieFacingRight(int index) {
+        return zombieFacingRight[index];
+    }
+
+    public BufferedImage getZombieFrame(int index) {
+        return zombieFrame[index];
+    }
+
+    public int getProjectileCount() {
+        return projectileCount;
+    }
+
+    public float getProjectileX(int index, float alpha) {
+        return lerp(projectilePreviousX[index], projectileX[index], alpha);
+    }
+
+    public float getProjectileY(int index, float alpha) {
+        return lerp(projectilePreviousY[index], projectileY[index], alpha);
+    }
+
+    public int getProjectileWidth(int index) {
+        return projectileWidth[index];
+    }
+
+    public int getProjectileHeight(int index) {
+        return projectileHeight[index];
+    }
+}
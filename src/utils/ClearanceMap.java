@@ -0,0 +1,111 @@
+package utils;
+
+public class ClearanceMap {
+    public static final int DEFAULT_MAX_CLEARANCE = 8;
+
+    private final int maxClearance;
+    private CollisionGrid grid;
+    private int cols;
+    private int rows;
+    private byte[] clearance;
+    private int rebuildCount;
+    private int tilesUpdated;
+
+    public ClearanceMap(CollisionGrid grid) {
+        this(grid, DEFAULT_MAX_CLEARANCE);
+    }
+
+    public ClearanceMap(CollisionGrid grid, int maxClearance) {
+        this.maxClearance = Math.max(1, Math.min(127, maxClearance));
+        this.clearance = new byte[0];
+        rebuild(grid);
+    }
+
+    public void rebuild(CollisionGrid grid) {
+        this.grid = grid;
+        cols = grid.getCols();
+        rows = grid.getRows();
+        if (clearance.length < cols * rows) {
+            clearance = new byte[cols * rows];
+        }
+        for (int y = rows - 1; y >= 0; y--) {
+            for (int x = cols - 1; x >= 0; x--) {
+                clearance[y * cols + x] = compute(x, y);
+            }
+        }
+        rebuildCount++;
+    }
+
+    public void tileChanged(int x, int y) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows)
+            return;
+
+        int fromX = Math.max(0, x - maxClearance + 1);
+        int fromY = Math.max(0, y - maxClearance + 1);
+        for (int ty = y; ty >= fromY; ty--) {
+            for (int tx = x; tx >= fromX; tx--) {
+                clearance[ty * cols + tx] = compute(tx, ty);
+                tilesUpdated++;
+            }
+        }
+    }
+
+    private byte compute(int x, int y) {
+        if (grid.isBlocked(x, y))
+            return 0;
+        int value = 1 + Math.min(get(x + 1, y), Math.min(get(x, y + 1), get(x + 1, y + 1)));
+        return (byte) Math.min(value, maxClearance);
+    }
+
+    public int get(int x, int y) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows)
+            return 0;
+        return clearance[y * cols + x];
+    }
+
+    public boolean fits(int x, int y, int size) {
+        return size <= 1 ? grid.isWalkable(x, y) : get(x, y) >= size;
+    }
+
+    public int findPlacement(int tileX, int tileY, int size) {
+        int best = -1;
+        int bestOffset = Integer.MAX_VALUE;
+        int center = (size - 1) / 2;
+        for (int y = tileY - size + 1; y <= tileY; y++) {
+            for (int x = tileX - size + 1; x <= tileX; x++) {
+                if (!fits(x, y, size))
+                    continue;
+                int offset = Math.abs(tileX - x - center) + Math.abs(tileY - y - center);
+                if (offset < bestOffset) {
+                    best = y * cols + x;
+                    bestOffset = offset;
+                }
+            }
+        }
+        return best;
+    }
+
+    public CollisionGrid getGrid() {
+        return grid;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getMaxClearance() {
+        return maxClearance;
+    }
+
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    public int getTilesUpdated() {
+        return tilesUpdated;
+    }
+}
@@ -0,0 +1,167 @@
+package utils;
+
+public class CollisionGrid {
+    private final int cols;
+    private final int rows;
+    private final int wordsPerRow;
+    private final boolean readOnly;
+    private long[] bits;
+    private boolean shared;
+
+    public CollisionGrid(int cols, int rows) {
+        this(cols, rows, new long[rows * ((cols + 63) >>> 6)], false);
+    }
+
+    private CollisionGrid(int cols, int rows, long[] bits, boolean readOnly) {
+        this.cols = Math.max(0, cols);
+        this.rows = Math.max(0, rows);
+        this.wordsPerRow = (this.cols + 63) >>> 6;
+        this.bits = bits;
+        this.readOnly = readOnly;
+    }
+
+    public static CollisionGrid fromArray(int[][] tiles) {
+        if (tiles == null || tiles.length == 0)
+            return new CollisionGrid(0, 0);
+        CollisionGrid grid = new CollisionGrid(tiles[0].length, tiles.length);
+        for (int y = 0; y < grid.rows; y++) {
+            for (int x = 0; x < grid.cols && x < tiles[y].length; x++) {
+                if (tiles[y][x] != 0)
+                    grid.bits[y * grid.wordsPerRow + (x >>> 6)] |= 1L << x;
+            }
+        }
+        return grid;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public boolean isEmpty() {
+        return cols == 0 || rows == 0;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public boolean isWalkable(int x, int y) {
+        return x >= 0 && x < cols && y >= 0 && y < rows
+                && (bits[y * wordsPerRow + (x >>> 6)] & (1L << x)) == 0;
+    }
+
+    public boolean isBlocked(int x, int y) {
+        return !isWalkable(x, y);
+    }
+
+    public int get(int x, int y) {
+        return isWalkable(x, y) ? 0 : 1;
+    }
+
+    public boolean set(int x, int y, boolean blocked) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows)
+            return false;
+
+        int word = y * wordsPerRow + (x >>> 6);
+        long mask = 1L << x;
+        if (((bits[word] & mask) != 0) == blocked)
+            return false;
+
+        prepareWrite();
+        if (blocked) {
+            bits[word] |= mask;
+        } else {
+            bits[word] &= ~mask;
+        }
+        return true;
+    }
+
+    public void fill(boolean blocked) {
+        prepareWrite();
+        long value = blocked ? -1L : 0L;
+        for (int y = 0; y < rows; y++) {
+            int base = y * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                bits[base + w] = value;
+            }
+            if (blocked && (cols & 63) != 0) {
+                bits[base + wordsPerRow - 1] = -1L >>> (64 - (cols & 63));
+            }
+        }
+    }
+
+    public boolean anyBlockedInRow(int y, int fromX, int toX) {
+        if (fromX > toX)
+            return false;
+        if (y < 0 || y >= rows || fromX < 0 || toX >= cols)
+            return true;
+
+        int base = y * wordsPerRow;
+        int firstWord = fromX >>> 6;
+        int lastWord = toX >>> 6;
+        long firstMask = -1L << fromX;
+        long lastMask = -1L >>> (63 - (toX & 63));
+        if (firstWord == lastWord)
+            return (bits[base + firstWord] & firstMask & lastMask) != 0;
+
+        if ((bits[base + firstWord] & firstMask) != 0)
+            return true;
+        for (int w = firstWord + 1; w < lastWord; w++) {
+            if (bits[base + w] != 0)
+                return true;
+        }
+        return (bits[base + lastWord] & lastMask) != 0;
+    }
+
+    public boolean anyBlockedInRect(int fromX, int fromY, int toX, int toY) {
+        if (fromX > toX || fromY > toY)
+            return false;
+        for (int y = fromY; y <= toY; y++) {
+            if (anyBlockedInRow(y, fromX, toX))
+                return true;
+        }
+        return false;
+    }
+
+    public int countBlocked() {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public CollisionGrid snapshot() {
+        if (readOnly)
+            return this;
+        shared = true;
+        return new CollisionGrid(cols, rows, bits, true);
+    }
+
+    public CollisionGrid copy() {
+        return new CollisionGrid(cols, rows, bits.clone(), false);
+    }
+
+    public int[][] toArray() {
+        int[][] tiles = new int[rows][cols];
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                tiles[y][x] = get(x, y);
+            }
+        }
+        return tiles;
+    }
+
+    private void prepareWrite() {
+        if (readOnly)
+            throw new IllegalStateException("Collision grid snapshot is read-only");
+        if (shared) {
+            bits = bits.clone();
+            shared = false;
+        }
+    }
+}
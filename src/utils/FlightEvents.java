@@ -0,0 +1,98 @@
+package utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+public final class FlightEvents {
+    private FlightEvents() {
+    }
+
+    @Name("zompocalypse.GameUpdate")
+    @Label("Game Update")
+    @Description("One fixed simulation tick driven by Game.update")
+    @Category({ "Zompocalypse", "Simulation" })
+    @StackTrace(false)
+    public static class GameUpdateEvent extends Event {
+        @Label("State")
+        public String state;
+
+        @Label("Tick Seconds")
+        public float dt;
+    }
+
+    @Name("zompocalypse.LevelUpdate")
+    @Label("Level Update")
+    @Description("World update for one tick: navigation, AI, movement, collisions and spawning")
+    @Category({ "Zompocalypse", "Simulation" })
+    @StackTrace(false)
+    public static class LevelUpdateEvent extends Event {
+        @Label("Tick")
+        public long tick;
+
+        @Label("Wave")
+        public int wave;
+
+        @Label("Zombies")
+        public int zombies;
+
+        @Label("Projectiles")
+        public int projectiles;
+
+        @Label("AI Updates")
+        public int aiUpdates;
+    }
+
+    @Name("zompocalypse.PathSearch")
+    @Label("Path Search")
+    @Description("A complete A* or jump point search run by Pathfinder.findPath")
+    @Category({ "Zompocalypse", "Pathfinding" })
+    @StackTrace(false)
+    public static class PathSearchEvent extends Event {
+        @Label("Start X")
+        public int startX;
+
+        @Label("Start Y")
+        public int startY;
+
+        @Label("Goal X")
+        public int goalX;
+
+        @Label("Goal Y")
+        public int goalY;
+
+        @Label("Agent Size")
+        public int size;
+
+        @Label("Mode")
+        public String mode;
+
+        @Label("Nodes Expanded")
+        public int nodesExpanded;
+
+        @Label("Path Length")
+        public int pathLength;
+
+        @Label("Found")
+        public boolean found;
+    }
+
+    @Name("zompocalypse.Render")
+    @Label("Render")
+    @Description("One GamePanel.paintComponent pass on the event dispatch thread")
+    @Category({ "Zompocalypse", "Rendering" })
+    @StackTrace(false)
+    public static class RenderEvent extends Event {
+        @Label("State")
+        public String state;
+
+        @Label("Snapshot Tick")
+        public long snapshotTick;
+
+        @Label("Zombies")
+        public int zombies;
+    }
+}
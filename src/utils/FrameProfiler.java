@@ -0,0 +1,245 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FrameProfiler {
+    public enum Phase {
+        INPUT("Input"), NAVIGATION("Navigation"), AI("AI"), SEPARATION("Separation"), MOVEMENT("Movement"),
+        COLLISIONS("Collisions"), PROJECTILES("Projectiles"), SPAWNING("Spawning"), TICK("Tick"),
+        RENDER("Render");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public enum Counter {
+        PATH_SEARCHES("Path searches"), NODES_EXPANDED("Nodes expanded"), AI_UPDATES("AI updates"),
+        ZOMBIES("Zombies"), PROJECTILES("Projectiles"), SPAWN_FAILURES("Spawn failures");
+
+        private final String label;
+
+        Counter(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public static class Snapshot {
+        private final long[] lastNanos;
+        private final long[] medianNanos;
+        private final long[] p99Nanos;
+        private final long[] counts;
+        private final long[] frameHistory;
+
+        private Snapshot(FrameProfiler profiler) {
+            this.lastNanos = profiler.lastNanos.clone();
+            this.medianNanos = new long[PHASES.length];
+            this.p99Nanos = new long[PHASES.length];
+            for (int i = 0; i < PHASES.length; i++) {
+                medianNanos[i] = profiler.histograms[i].getPercentile(0.5);
+                p99Nanos[i] = profiler.histograms[i].getPercentile(0.99);
+            }
+            this.counts = profiler.lastCounters.clone();
+            this.frameHistory = new long[profiler.frameHistory.length];
+            for (int age = 0; age < frameHistory.length; age++) {
+                frameHistory[age] = profiler.getFrameHistory(age);
+            }
+        }
+
+        public long getLastNanos(Phase phase) {
+            return lastNanos[phase.ordinal()];
+        }
+
+        public long getMedianNanos(Phase phase) {
+            return medianNanos[phase.ordinal()];
+        }
+
+        public long getP99Nanos(Phase phase) {
+            return p99Nanos[phase.ordinal()];
+        }
+
+        public long getLastCount(Counter counter) {
+            return counts[counter.ordinal()];
+        }
+
+        public int getFrameHistorySize() {
+            return frameHistory.length;
+        }
+
+        public long getFrameHistory(int age) {
+            return frameHistory[age];
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final Counter[] COUNTERS = Counter.values();
+    private static final int DEFAULT_HISTORY = 240;
+
+    private volatile boolean enabled;
+    private volatile boolean overlayVisible;
+    private volatile Snapshot snapshot;
+    private final AtomicLong pendingRenderNanos;
+    private final LatencyHistogram[] histograms;
+    private final long[] lastNanos;
+    private final long[] counters;
+    private final long[] lastCounters;
+    private final LatencyHistogram frameHistogram;
+    private final long[] frameHistory;
+    private int frameHistoryIndex;
+    private long frames;
+
+    public FrameProfiler() {
+        this(DEFAULT_HISTORY);
+    }
+
+    public FrameProfiler(int historySize) {
+        this.histograms = new LatencyHistogram[PHASES.length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        this.lastNanos = new long[PHASES.length];
+        this.counters = new long[COUNTERS.length];
+        this.lastCounters = new long[COUNTERS.length];
+        this.frameHistogram = new LatencyHistogram();
+        this.frameHistory = new long[Math.max(1, historySize)];
+        this.pendingRenderNanos = new AtomicLong();
+    }
+
+    public long begin() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public void end(Phase phase, long start) {
+        if (!enabled || start == 0)
+            return;
+        record(phase, System.nanoTime() - start);
+    }
+
+    public void endRender(long start) {
+        if (!enabled || start == 0)
+            return;
+        pendingRenderNanos.set(System.nanoTime() - start);
+    }
+
+    public void record(Phase phase, long elapsed) {
+        if (!enabled)
+            return;
+        histograms[phase.ordinal()].record(elapsed);
+        lastNanos[phase.ordinal()] = elapsed;
+    }
+
+    public void add(Counter counter, long amount) {
+        if (enabled)
+            counters[counter.ordinal()] += amount;
+    }
+
+    public void set(Counter counter, long value) {
+        if (enabled)
+            counters[counter.ordinal()] = value;
+    }
+
+    public void endFrame(long frameNanos) {
+        if (!enabled)
+            return;
+        long renderNanos = pendingRenderNanos.getAndSet(0);
+        if (renderNanos > 0)
+            record(Phase.RENDER, renderNanos);
+        frameHistogram.record(frameNanos);
+        frameHistory[frameHistoryIndex] = frameNanos;
+        frameHistoryIndex = (frameHistoryIndex + 1) % frameHistory.length;
+        for (int i = 0; i < counters.length; i++) {
+            lastCounters[i] = counters[i];
+            counters[i] = 0;
+        }
+        frames++;
+        if (overlayVisible)
+            snapshot = new Snapshot(this);
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        frameHistogram.reset();
+        for (int i = 0; i < lastNanos.length; i++) {
+            lastNanos[i] = 0;
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = 0;
+            lastCounters[i] = 0;
+        }
+        for (int i = 0; i < frameHistory.length; i++) {
+            frameHistory[i] = 0;
+        }
+        frameHistoryIndex = 0;
+        frames = 0;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    public void setOverlayVisible(boolean overlayVisible) {
+        this.overlayVisible = overlayVisible;
+        if (overlayVisible)
+            enabled = true;
+    }
+
+    public void toggleOverlay() {
+        setOverlayVisible(!overlayVisible);
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    public long getLastNanos(Phase phase) {
+        return lastNanos[phase.ordinal()];
+    }
+
+    public long getLastCount(Counter counter) {
+        return lastCounters[counter.ordinal()];
+    }
+
+    public LatencyHistogram getFrameHistogram() {
+        return frameHistogram;
+    }
+
+    public int getFrameHistorySize() {
+        return frameHistory.length;
+    }
+
+    public long getFrameHistory(int age) {
+        int index = frameHistoryIndex - 1 - age;
+        while (index < 0) {
+            index += frameHistory.length;
+        }
+        return frameHistory[index];
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+}
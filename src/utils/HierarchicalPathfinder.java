@@ -0,0 +1,521 @@
+package utils;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class HierarchicalPathfinder {
+    private static final int[][] DIRECTIONS = {
+            { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 },
+            { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 }
+    };
+    private static final float STRAIGHT_COST = 1.0f;
+    private static final float DIAGONAL_COST = 1.414f;
+    private static final float UNREACHABLE = Float.MAX_VALUE;
+    private static final int MIN_RUN_FOR_TWO_ENTRANCES = 6;
+
+    private final int clusterSize;
+    private final int maxSlots;
+    private int refineSegments;
+
+    private CollisionGrid grid;
+    private int cols;
+    private int rows;
+    private int clusterCols;
+    private int clusterRows;
+    private int[] slotCount;
+    private int[] slotTile;
+    private int[] slotPartner;
+    private float[][] slotDistance;
+
+    private float[] localDistance;
+    private int[] localParent;
+    private int[] localStamp;
+    private int localGeneration;
+    private IndexedMinHeap localOpen;
+
+    private float[] nodeG;
+    private int[] nodeParent;
+    private int[] nodeStamp;
+    private int nodeGeneration;
+    private IndexedMinHeap abstractOpen;
+    private float[] startDistance;
+    private float[] goalDistance;
+
+    private int[] abstractPath;
+    private int abstractLength;
+    private int[] pathBuffer;
+    private int pathLength;
+
+    private int lastNodesExpanded;
+    private long clustersRebuilt;
+
+    public HierarchicalPathfinder(int clusterSize) {
+        this.clusterSize = Math.max(2, clusterSize);
+        this.maxSlots = this.clusterSize * 12 + 4;
+        this.refineSegments = 2;
+        this.startDistance = new float[maxSlots];
+        this.goalDistance = new float[maxSlots];
+        this.localOpen = new IndexedMinHeap(0);
+        this.abstractOpen = new IndexedMinHeap(0);
+    }
+
+    public void rebuild(CollisionGrid collisionMap) {
+        grid = collisionMap;
+        rows = collisionMap.getRows();
+        cols = collisionMap.getCols();
+        clusterCols = (cols + clusterSize - 1) / clusterSize;
+        clusterRows = (rows + clusterSize - 1) / clusterSize;
+
+        int clusterCount = clusterCols * clusterRows;
+        int tileCount = cols * rows;
+        int nodeCount = clusterCount * maxSlots + 2;
+
+        slotCount = new int[clusterCount];
+        slotTile = new int[clusterCount * maxSlots];
+        slotPartner = new int[clusterCount * maxSlots];
+        slotDistance = new float[clusterCount][];
+
+        localDistance = new float[tileCount];
+        localParent = new int[tileCount];
+        localStamp = new int[tileCount];
+        localGeneration = 0;
+        localOpen.ensureCapacity(tileCount);
+
+        nodeG = new float[nodeCount];
+        nodeParent = new int[nodeCount];
+        nodeStamp = new int[nodeCount];
+        nodeGeneration = 0;
+        abstractOpen.ensureCapacity(nodeCount);
+
+        abstractPath = new int[nodeCount];
+        pathBuffer = new int[tileCount];
+
+        for (int c = 0; c < clusterCount; c++) {
+            rebuildCluster(c);
+        }
+    }
+
+    public void invalidate() {
+        grid = null;
+    }
+
+    public void updateTile(int x, int y) {
+        if (grid == null || x < 0 || x >= cols || y < 0 || y >= rows)
+            return;
+
+        int cx = x / clusterSize;
+        int cy = y / clusterSize;
+        boolean onEdge = x % clusterSize == 0 || x % clusterSize == clusterSize - 1
+                || y % clusterSize == 0 || y % clusterSize == clusterSize - 1;
+        if (!onEdge) {
+            rebuildCluster(cy * clusterCols + cx);
+            return;
+        }
+
+        for (int ny = Math.max(0, cy - 1); ny <= Math.min(clusterRows - 1, cy + 1); ny++) {
+            for (int nx = Math.max(0, cx - 1); nx <= Math.min(clusterCols - 1, cx + 1); nx++) {
+                rebuildCluster(ny * clusterCols + nx);
+            }
+        }
+    }
+
+    public List<Point> findPath(Point start, Point goal, CollisionGrid collisionMap) {
+        List<Point> path = new ArrayList<>();
+        if (collisionMap == null || start == null || goal == null)
+            return path;
+
+        int length = findPath(start.x, start.y, goal.x, goal.y, collisionMap);
+        for (int i = 0; i < length; i++) {
+            path.add(new Point(pathBuffer[i] % cols, pathBuffer[i] / cols));
+        }
+        return path;
+    }
+
+    public int findPath(int startX, int startY, int goalX, int goalY, CollisionGrid collisionMap) {
+        pathLength = 0;
+        abstractLength = 0;
+        lastNodesExpanded = 0;
+        if (collisionMap == null || collisionMap.isEmpty())
+            return 0;
+        if (collisionMap != grid)
+            rebuild(collisionMap);
+
+        startX = Math.max(0, Math.min(startX, cols - 1));
+        startY = Math.max(0, Math.min(startY, rows - 1));
+        goalX = Math.max(0, Math.min(goalX, cols - 1));
+        goalY = Math.max(0, Math.min(goalY, rows - 1));
+
+        if (!grid.isWalkable(startX, startY) || !grid.isWalkable(goalX, goalY))
+            return 0;
+
+        int startTile = startY * cols + startX;
+        int goalTile = goalY * cols + goalX;
+        if (!searchAbstract(startTile, goalTile))
+            return 0;
+
+        refine(startTile, goalTile);
+        return pathLength;
+    }
+
+    private boolean searchAbstract(int startTile, int goalTile) {
+        int startCluster = clusterOf(startTile);
+        int goalCluster = clusterOf(goalTile);
+        int startNode = slotTile.length;
+        int goalNode = startNode + 1;
+        int goalX = goalTile % cols;
+        int goalY = goalTile / cols;
+
+        searchLocal(goalTile, goalCluster, -1);
+        for (int i = 0; i < slotCount[goalCluster]; i++) {
+            goalDistance[i] = localDistanceTo(slotTile[goalCluster * maxSlots + i]);
+        }
+        searchLocal(startTile, startCluster, -1);
+        for (int i = 0; i < slotCount[startCluster]; i++) {
+            startDistance[i] = localDistanceTo(slotTile[startCluster * maxSlots + i]);
+        }
+        float directDistance = (startCluster == goalCluster) ? localDistanceTo(goalTile) : UNREACHABLE;
+
+        int stamp = nextNodeGeneration();
+        abstractOpen.clear();
+        nodeG[startNode] = 0;
+        nodeParent[startNode] = -1;
+        nodeStamp[startNode] = stamp;
+        abstractOpen.push(startNode, 0, 0);
+
+        while (!abstractOpen.isEmpty()) {
+            int current = abstractOpen.pop();
+            lastNodesExpanded++;
+            if (current == goalNode) {
+                abstractLength = 0;
+                for (int node = goalNode; node != -1; node = nodeParent[node]) {
+                    abstractPath[abstractLength++] = node;
+                }
+                for (int i = 0, j = abstractLength - 1; i < j; i++, j--) {
+                    int swap = abstractPath[i];
+                    abstractPath[i] = abstractPath[j];
+                    abstractPath[j] = swap;
+                }
+                return true;
+            }
+
+            float currentG = nodeG[current];
+            if (current == startNode) {
+                for (int i = 0; i < slotCount[startCluster]; i++) {
+                    if (startDistance[i] < UNREACHABLE) {
+                        relax(current, startCluster * maxSlots + i, currentG + startDistance[i], goalX, goalY, stamp);
+                    }
+                }
+                if (directDistance < UNREACHABLE) {
+                    relax(current, goalNode, currentG + directDistance, goalX, goalY, stamp);
+                }
+                continue;
+            }
+
+            int cluster = current / maxSlots;
+            int slot = current % maxSlots;
+            int count = slotCount[cluster];
+            float[] distances = slotDistance[cluster];
+            for (int j = 0; j < count; j++) {
+                float d = distances[slot * count + j];
+                if (j != slot && d < UNREACHABLE) {
+                    relax(current, cluster * maxSlots + j, currentG + d, goalX, goalY, stamp);
+                }
+            }
+
+            int partnerNode = findPartner(current);
+            if (partnerNode >= 0) {
+                int tile = slotTile[current];
+                int partner = slotTile[partnerNode];
+                float cost = (tile % cols != partner % cols && tile / cols != partner / cols) ? DIAGONAL_COST
+                        : STRAIGHT_COST;
+                relax(current, partnerNode, currentG + cost, goalX, goalY, stamp);
+            }
+
+            if (cluster == goalCluster && goalDistance[slot] < UNREACHABLE) {
+                relax(current, goalNode, currentG + goalDistance[slot], goalX, goalY, stamp);
+            }
+        }
+        return false;
+    }
+
+    private void relax(int from, int node, float g, int goalX, int goalY, int stamp) {
+        if (nodeStamp[node] == stamp && g >= nodeG[node])
+            return;
+        if (nodeStamp[node] == stamp && !abstractOpen.contains(node))
+            return;
+
+        nodeStamp[node] = stamp;
+        nodeG[node] = g;
+        nodeParent[node] = from;
+        float h = 0;
+        if (node < slotTile.length) {
+            int tile = slotTile[node];
+            h = octile(tile % cols, tile / cols, goalX, goalY);
+        }
+        abstractOpen.push(node, g + h, h);
+    }
+
+    private int findPartner(int node) {
+        int tile = slotTile[node];
+        int partner = slotPartner[node];
+        int cluster = clusterOf(partner);
+        for (int j = 0; j < slotCount[cluster]; j++) {
+            int candidate = cluster * maxSlots + j;
+            if (slotTile[candidate] == partner && slotPartner[candidate] == tile)
+                return candidate;
+        }
+        return -1;
+    }
+
+    private void refine(int startTile, int goalTile) {
+        pathLength = 0;
+        pathBuffer[pathLength++] = startTile;
+        int refined = 0;
+
+        for (int i = 1; i < abstractLength && refined < refineSegments; i++) {
+            int from = nodeTile(abstractPath[i - 1], startTile, goalTile);
+            int to = nodeTile(abstractPath[i], startTile, goalTile);
+            if (from == to)
+                continue;
+
+            int cluster = clusterOf(from);
+            if (cluster != clusterOf(to)) {
+                pathBuffer[pathLength++] = to;
+                continue;
+            }
+
+            searchLocal(from, cluster, to);
+            int segmentStart = pathLength;
+            for (int node = to; node != from; node = localParent[node]) {
+                pathBuffer[pathLength++] = node;
+            }
+            for (int a = segmentStart, b = pathLength - 1; a < b; a++, b--) {
+                int swap = pathBuffer[a];
+                pathBuffer[a] = pathBuffer[b];
+                pathBuffer[b] = swap;
+            }
+            refined++;
+        }
+    }
+
+    private int nodeTile(int node, int startTile, int goalTile) {
+        if (node == slotTile.length)
+            return startTile;
+        if (node == slotTile.length + 1)
+            return goalTile;
+        return slotTile[node];
+    }
+
+    private void rebuildCluster(int cluster) {
+        clustersRebuilt++;
+        int cx = cluster % clusterCols;
+        int cy = cluster / clusterCols;
+        int x0 = cx * clusterSize;
+        int y0 = cy * clusterSize;
+        int x1 = Math.min(x0 + clusterSize, cols) - 1;
+        int y1 = Math.min(y0 + clusterSize, rows) - 1;
+
+        slotCount[cluster] = 0;
+        if (y0 > 0)
+            addBorderEntrances(cluster, x0, y0 - 1, 1, 0, 0, 1, x1 - x0 + 1, false);
+        if (y1 < rows - 1)
+            addBorderEntrances(cluster, x0, y1, 1, 0, 0, 1, x1 - x0 + 1, true);
+        if (x0 > 0)
+            addBorderEntrances(cluster, x0 - 1, y0, 0, 1, 1, 0, y1 - y0 + 1, false);
+        if (x1 < cols - 1)
+            addBorderEntrances(cluster, x1, y0, 0, 1, 1, 0, y1 - y0 + 1, true);
+
+        addCornerEntrance(cluster, x0, y0, -1, -1);
+        addCornerEntrance(cluster, x1, y0, 1, -1);
+        addCornerEntrance(cluster, x0, y1, -1, 1);
+        addCornerEntrance(cluster, x1, y1, 1, 1);
+
+        int count = slotCount[cluster];
+        float[] distances = new float[count * count];
+        for (int i = 0; i < count; i++) {
+            searchLocal(slotTile[cluster * maxSlots + i], cluster, -1);
+            for (int j = 0; j < count; j++) {
+                distances[i * count + j] = localDistanceTo(slotTile[cluster * maxSlots + j]);
+            }
+        }
+        slotDistance[cluster] = distances;
+    }
+
+    private void addBorderEntrances(int cluster, int x, int y, int stepX, int stepY, int outX, int outY,
+            int length, boolean firstSide) {
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean open = i < length && isStraightOpen(x, y, stepX, stepY, outX, outY, i);
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 >= MIN_RUN_FOR_TWO_ENTRANCES) {
+                    addBorderSlot(cluster, x, y, stepX, stepY, outX, outY, runStart, runStart, firstSide);
+                    addBorderSlot(cluster, x, y, stepX, stepY, outX, outY, runEnd, runEnd, firstSide);
+                } else {
+                    int mid = (runStart + runEnd) / 2;
+                    addBorderSlot(cluster, x, y, stepX, stepY, outX, outY, mid, mid, firstSide);
+                }
+                runStart = -1;
+            }
+        }
+
+        for (int i = 0; i + 1 < length; i++) {
+            if (isStraightOpen(x, y, stepX, stepY, outX, outY, i)
+                    || isStraightOpen(x, y, stepX, stepY, outX, outY, i + 1))
+                continue;
+            if (isWalkable(x + i * stepX, y + i * stepY)
+                    && isWalkable(x + (i + 1) * stepX + outX, y + (i + 1) * stepY + outY))
+                addBorderSlot(cluster, x, y, stepX, stepY, outX, outY, i, i + 1, firstSide);
+            if (isWalkable(x + (i + 1) * stepX, y + (i + 1) * stepY)
+                    && isWalkable(x + i * stepX + outX, y + i * stepY + outY))
+                addBorderSlot(cluster, x, y, stepX, stepY, outX, outY, i + 1, i, firstSide);
+        }
+    }
+
+    private boolean isStraightOpen(int x, int y, int stepX, int stepY, int outX, int outY, int i) {
+        return isWalkable(x + i * stepX, y + i * stepY)
+                && isWalkable(x + i * stepX + outX, y + i * stepY + outY);
+    }
+
+    private void addBorderSlot(int cluster, int x, int y, int stepX, int stepY, int outX, int outY,
+            int firstOffset, int secondOffset, boolean firstSide) {
+        int firstTile = (y + firstOffset * stepY) * cols + x + firstOffset * stepX;
+        int secondTile = (y + secondOffset * stepY + outY) * cols + x + secondOffset * stepX + outX;
+        if (firstSide) {
+            addSlot(cluster, firstTile, secondTile);
+        } else {
+            addSlot(cluster, secondTile, firstTile);
+        }
+    }
+
+    private void addCornerEntrance(int cluster, int x, int y, int dx, int dy) {
+        if (isWalkable(x, y) && isWalkable(x + dx, y + dy)
+                && !isWalkable(x + dx, y) && !isWalkable(x, y + dy)) {
+            addSlot(cluster, y * cols + x, (y + dy) * cols + x + dx);
+        }
+    }
+
+    private void addSlot(int cluster, int tile, int partner) {
+        if (slotCount[cluster] >= maxSlots)
+            return;
+        int slot = cluster * maxSlots + slotCount[cluster]++;
+        slotTile[slot] = tile;
+        slotPartner[slot] = partner;
+    }
+
+    private boolean isWalkable(int x, int y) {
+        return grid.isWalkable(x, y);
+    }
+
+    private void searchLocal(int sourceTile, int cluster, int targetTile) {
+        int cx = cluster % clusterCols;
+        int cy = cluster / clusterCols;
+        int x0 = cx * clusterSize;
+        int y0 = cy * clusterSize;
+        int x1 = Math.min(x0 + clusterSize, cols) - 1;
+        int y1 = Math.min(y0 + clusterSize, rows) - 1;
+
+        if (localGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(localStamp, 0);
+            localGeneration = 0;
+        }
+        int stamp = ++localGeneration;
+
+        localOpen.clear();
+        localDistance[sourceTile] = 0;
+        localParent[sourceTile] = -1;
+        localStamp[sourceTile] = stamp;
+        localOpen.push(sourceTile, 0, 0);
+
+        while (!localOpen.isEmpty()) {
+            int current = localOpen.pop();
+            if (current == targetTile)
+                return;
+
+            int currentX = current % cols;
+            int currentY = current / cols;
+            float currentDistance = localDistance[current];
+
+            for (int i = 0; i < DIRECTIONS.length; i++) {
+                int newX = currentX + DIRECTIONS[i][0];
+                int newY = currentY + DIRECTIONS[i][1];
+                if (newX < x0 || newX > x1 || newY < y0 || newY > y1)
+                    continue;
+                if (grid.isBlocked(newX, newY))
+                    continue;
+
+                int neighbor = newY * cols + newX;
+                float newDistance = currentDistance + ((i < 4) ? STRAIGHT_COST : DIAGONAL_COST);
+                if (localStamp[neighbor] == stamp && newDistance >= localDistance[neighbor])
+                    continue;
+
+                localStamp[neighbor] = stamp;
+                localDistance[neighbor] = newDistance;
+                localParent[neighbor] = current;
+                localOpen.push(neighbor, newDistance, 0);
+            }
+        }
+    }
+
+    private float localDistanceTo(int tile) {
+        return localStamp[tile] == localGeneration ? localDistance[tile] : UNREACHABLE;
+    }
+
+    private int nextNodeGeneration() {
+        if (nodeGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(nodeStamp, 0);
+            nodeGeneration = 0;
+        }
+        return ++nodeGeneration;
+    }
+
+    private int clusterOf(int tile) {
+        return (tile / cols / clusterSize) * clusterCols + (tile % cols) / clusterSize;
+    }
+
+    private float octile(int ax, int ay, int bx, int by) {
+        int dx = Math.abs(ax - bx);
+        int dy = Math.abs(ay - by);
+        return STRAIGHT_COST * (dx + dy) + (DIAGONAL_COST - 2 * STRAIGHT_COST) * Math.min(dx, dy);
+    }
+
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    public int getPathX(int i) {
+        return pathBuffer[i] % cols;
+    }
+
+    public int getPathY(int i) {
+        return pathBuffer[i] / cols;
+    }
+
+    public int getAbstractPathLength() {
+        return abstractLength;
+    }
+
+    public int getRefineSegments() {
+        return refineSegments;
+    }
+
+    public void setRefineSegments(int refineSegments) {
+        this.refineSegments = Math.max(1, refineSegments);
+    }
+
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    public int getLastNodesExpanded() {
+        return lastNodesExpanded;
+    }
+
+    public long getClustersRebuilt() {
+        return clustersRebuilt;
+    }
+}
@@ -0,0 +1,394 @@
+package utils;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class IncrementalPathfinder {
+    private static final int[][] DIRECTIONS = {
+            { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 },
+            { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 }
+    };
+    private static final float STRAIGHT_COST = 1.0f;
+    private static final float DIAGONAL_COST = 1.414f;
+    private static final byte UNSEEN = 0;
+    private static final byte OPEN = 1;
+    private static final byte CLOSED = 2;
+
+    private CollisionGrid grid;
+    private int cols;
+    private int rows;
+    private float[] gScore;
+    private int[] parent;
+    private byte[] nodeState;
+    private int[] touched;
+    private int touchedCount;
+    private int[] retainStamp;
+    private boolean[] retainValue;
+    private int retainGeneration;
+    private int[] chain;
+    private int[] deleted;
+    private IndexedMinHeap openSet;
+    private int startIndex;
+    private int goalIndex;
+    private boolean valid;
+
+    private int[] pathBuffer;
+    private int pathLength;
+    private int lastNodesExpanded;
+    private long totalNodesExpanded;
+    private long restarts;
+    private long repairs;
+
+    public IncrementalPathfinder() {
+        this.openSet = new IndexedMinHeap(0);
+        this.startIndex = -1;
+        this.goalIndex = -1;
+    }
+
+    public List<Point> findPath(Point start, Point goal, CollisionGrid collisionMap) {
+        List<Point> path = new ArrayList<>();
+        if (collisionMap == null || start == null || goal == null)
+            return path;
+
+        int length = findPath(start.x, start.y, goal.x, goal.y, collisionMap);
+        for (int i = 0; i < length; i++) {
+            path.add(new Point(pathBuffer[i] % cols, pathBuffer[i] / cols));
+        }
+        return path;
+    }
+
+    public int findPath(int startX, int startY, int goalX, int goalY, CollisionGrid collisionMap) {
+        pathLength = 0;
+        lastNodesExpanded = 0;
+        if (collisionMap == null || collisionMap.isEmpty())
+            return 0;
+
+        if (collisionMap != grid || collisionMap.getRows() != rows || collisionMap.getCols() != cols) {
+            prepare(collisionMap);
+        }
+
+        startX = Math.max(0, Math.min(startX, cols - 1));
+        startY = Math.max(0, Math.min(startY, rows - 1));
+        goalX = Math.max(0, Math.min(goalX, cols - 1));
+        goalY = Math.max(0, Math.min(goalY, rows - 1));
+
+        if (!grid.isWalkable(startX, startY) || !grid.isWalkable(goalX, goalY))
+            return 0;
+
+        int start = startY * cols + startX;
+        int goal = goalY * cols + goalX;
+
+        if (!valid) {
+            restart(start, goal);
+        } else {
+            if (start != startIndex) {
+                moveStart(start);
+            }
+            if (goal != goalIndex) {
+                moveGoal(goal);
+            }
+        }
+
+        if (nodeState[goalIndex] != CLOSED && !search())
+            return 0;
+
+        return reconstructPath();
+    }
+
+    public void tileChanged(int x, int y, boolean blocked) {
+        if (!valid || x < 0 || x >= cols || y < 0 || y >= rows)
+            return;
+
+        int node = y * cols + x;
+        if (!blocked) {
+            valid = false;
+            return;
+        }
+        if (node == startIndex) {
+            valid = false;
+            return;
+        }
+
+        if (nodeState[node] == OPEN) {
+            openSet.remove(node);
+            nodeState[node] = UNSEEN;
+        } else if (nodeState[node] == CLOSED) {
+            retainTree(startIndex, node);
+        }
+        repairs++;
+    }
+
+    public void invalidate() {
+        valid = false;
+    }
+
+    private void prepare(CollisionGrid collisionMap) {
+        grid = collisionMap;
+        rows = collisionMap.getRows();
+        cols = collisionMap.getCols();
+        int tileCount = rows * cols;
+        gScore = new float[tileCount];
+        parent = new int[tileCount];
+        nodeState = new byte[tileCount];
+        touched = new int[tileCount];
+        touchedCount = 0;
+        retainStamp = new int[tileCount];
+        retainValue = new boolean[tileCount];
+        retainGeneration = 0;
+        chain = new int[tileCount];
+        deleted = new int[tileCount];
+        pathBuffer = new int[tileCount];
+        openSet = new IndexedMinHeap(tileCount);
+        valid = false;
+    }
+
+    private void restart(int start, int goal) {
+        for (int i = 0; i < touchedCount; i++) {
+            nodeState[touched[i]] = UNSEEN;
+        }
+        touchedCount = 0;
+        openSet.clear();
+
+        startIndex = start;
+        goalIndex = goal;
+        gScore[start] = 0;
+        parent[start] = -1;
+        open(start);
+        valid = true;
+        restarts++;
+    }
+
+    private void moveStart(int start) {
+        if (nodeState[start] != CLOSED) {
+            restart(start, goalIndex);
+            return;
+        }
+        retainTree(start, -1);
+        startIndex = start;
+    }
+
+    private void moveGoal(int goal) {
+        goalIndex = goal;
+        int goalX = goal % cols;
+        int goalY = goal / cols;
+        for (int i = 0; i < touchedCount; i++) {
+            int node = touched[i];
+            if (nodeState[node] == OPEN) {
+                float h = heuristic(node % cols, node / cols, goalX, goalY);
+                openSet.push(node, gScore[node] + h, h);
+            }
+        }
+    }
+
+    private void retainTree(int root, int cut) {
+        if (retainGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(retainStamp, 0);
+            retainGeneration = 0;
+        }
+        int stamp = ++retainGeneration;
+        parent[root] = -1;
+
+        int kept = 0;
+        int deletedCount = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int node = touched[i];
+            boolean keep;
+            if (nodeState[node] == CLOSED) {
+                keep = isRetained(node, root, cut, stamp);
+            } else if (nodeState[node] == OPEN) {
+                keep = isRetained(parent[node], root, cut, stamp);
+                if (!keep)
+                    openSet.remove(node);
+            } else {
+                continue;
+            }
+
+            if (keep) {
+                touched[kept++] = node;
+            } else {
+                deleted[deletedCount++] = node;
+            }
+        }
+        touchedCount = kept;
+        for (int i = 0; i < deletedCount; i++) {
+            nodeState[deleted[i]] = UNSEEN;
+        }
+
+        int goalX = goalIndex % cols;
+        int goalY = goalIndex / cols;
+        for (int i = 0; i < deletedCount; i++) {
+            int node = deleted[i];
+            int nodeX = node % cols;
+            int nodeY = node / cols;
+            if (!isWalkable(nodeX, nodeY))
+                continue;
+
+            int bestParent = -1;
+            float bestG = Float.MAX_VALUE;
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int newX = nodeX + DIRECTIONS[d][0];
+                int newY = nodeY + DIRECTIONS[d][1];
+                if (!isWalkable(newX, newY))
+                    continue;
+
+                int neighbor = newY * cols + newX;
+                if (nodeState[neighbor] != CLOSED)
+                    continue;
+
+                float tentativeG = gScore[neighbor] + ((d < 4) ? STRAIGHT_COST : DIAGONAL_COST);
+                if (tentativeG < bestG) {
+                    bestG = tentativeG;
+                    bestParent = neighbor;
+                }
+            }
+
+            if (bestParent >= 0) {
+                gScore[node] = bestG;
+                parent[node] = bestParent;
+                nodeState[node] = OPEN;
+                touched[touchedCount++] = node;
+                float h = heuristic(nodeX, nodeY, goalX, goalY);
+                openSet.push(node, bestG + h, h);
+            }
+        }
+    }
+
+    private boolean isRetained(int node, int root, int cut, int stamp) {
+        int length = 0;
+        boolean retained = false;
+        int current = node;
+        while (true) {
+            if (retainStamp[current] == stamp) {
+                retained = retainValue[current];
+                break;
+            }
+            if (current == cut) {
+                retained = false;
+                chain[length++] = current;
+                break;
+            }
+            chain[length++] = current;
+            if (current == root) {
+                retained = true;
+                break;
+            }
+            current = parent[current];
+            if (current < 0 || nodeState[current] != CLOSED) {
+                retained = false;
+                break;
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            retainStamp[chain[i]] = stamp;
+            retainValue[chain[i]] = retained;
+        }
+        return retained;
+    }
+
+    private boolean search() {
+        int goalX = goalIndex % cols;
+        int goalY = goalIndex / cols;
+
+        while (!openSet.isEmpty()) {
+            int current = openSet.pop();
+            nodeState[current] = CLOSED;
+            lastNodesExpanded++;
+            totalNodesExpanded++;
+
+            int currentX = current % cols;
+            int currentY = current / cols;
+            float currentG = gScore[current];
+
+            for (int i = 0; i < DIRECTIONS.length; i++) {
+                int newX = currentX + DIRECTIONS[i][0];
+                int newY = currentY + DIRECTIONS[i][1];
+                if (!isWalkable(newX, newY))
+                    continue;
+
+                int neighbor = newY * cols + newX;
+                if (nodeState[neighbor] == CLOSED)
+                    continue;
+
+                float tentativeG = currentG + ((i < 4) ? STRAIGHT_COST : DIAGONAL_COST);
+                if (nodeState[neighbor] == OPEN && tentativeG >= gScore[neighbor])
+                    continue;
+
+                gScore[neighbor] = tentativeG;
+                parent[neighbor] = current;
+                if (nodeState[neighbor] == UNSEEN) {
+                    nodeState[neighbor] = OPEN;
+                    touched[touchedCount++] = neighbor;
+                }
+                float h = heuristic(newX, newY, goalX, goalY);
+                openSet.push(neighbor, tentativeG + h, h);
+            }
+            if (current == goalIndex)
+                return true;
+        }
+        return false;
+    }
+
+    private void open(int node) {
+        nodeState[node] = OPEN;
+        touched[touchedCount++] = node;
+        float h = heuristic(node % cols, node / cols, goalIndex % cols, goalIndex / cols);
+        openSet.push(node, gScore[node] + h, h);
+    }
+
+    private int reconstructPath() {
+        int length = 0;
+        for (int node = goalIndex; node != -1; node = parent[node]) {
+            length++;
+        }
+        int i = length;
+        for (int node = goalIndex; node != -1; node = parent[node]) {
+            pathBuffer[--i] = node;
+        }
+        pathLength = length;
+        return length;
+    }
+
+    private boolean isWalkable(int x, int y) {
+        return grid.isWalkable(x, y);
+    }
+
+    private float heuristic(int ax, int ay, int bx, int by) {
+        int dx = Math.abs(ax - bx);
+        int dy = Math.abs(ay - by);
+        return STRAIGHT_COST * (dx + dy) + (DIAGONAL_COST - 2 * STRAIGHT_COST) * Math.min(dx, dy);
+    }
+
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    public int getPathIndex(int i) {
+        return pathBuffer[i];
+    }
+
+    public int getPathX(int i) {
+        return pathBuffer[i] % cols;
+    }
+
+    public int getPathY(int i) {
+        return pathBuffer[i] / cols;
+    }
+
+    public int getLastNodesExpanded() {
+        return lastNodesExpanded;
+    }
+
+    public long getTotalNodesExpanded() {
+        return totalNodesExpanded;
+    }
+
+    public long getRestarts() {
+        return restarts;
+    }
+
+    public long getRepairs() {
+        return repairs;
+    }
+}
@@ -0,0 +1,169 @@
+package utils;
+
+import java.util.Arrays;
+
+public class IndexedMinHeap {
+    private int[] heap;
+    private int[] position;
+    private float[] primary;
+    private float[] secondary;
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[0];
+        this.position = new int[0];
+        this.primary = new float[0];
+        this.secondary = new float[0];
+        ensureCapacity(capacity);
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity <= position.length)
+            return;
+        int oldLength = position.length;
+        heap = Arrays.copyOf(heap, capacity);
+        position = Arrays.copyOf(position, capacity);
+        primary = Arrays.copyOf(primary, capacity);
+        secondary = Arrays.copyOf(secondary, capacity);
+        Arrays.fill(position, oldLength, capacity, -1);
+    }
+
+    public int capacity() {
+        return position.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int node) {
+        return position[node] >= 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    public void push(int node, float key, float tieKey) {
+        int slot = position[node];
+        if (slot < 0) {
+            slot = size++;
+            heap[slot] = node;
+            position[node] = slot;
+            primary[node] = key;
+            secondary[node] = tieKey;
+            siftUp(slot);
+            return;
+        }
+
+        boolean decreased = less(key, tieKey, primary[node], secondary[node]);
+        primary[node] = key;
+        secondary[node] = tieKey;
+        if (decreased) {
+            siftUp(slot);
+        } else {
+            siftDown(slot);
+        }
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public float peekKey() {
+        return primary[heap[0]];
+    }
+
+    public float peekTieKey() {
+        return secondary[heap[0]];
+    }
+
+    public float getKey(int node) {
+        return primary[node];
+    }
+
+    public float getTieKey(int node) {
+        return secondary[node];
+    }
+
+    public int pop() {
+        int top = heap[0];
+        removeAt(0);
+        return top;
+    }
+
+    public void remove(int node) {
+        int slot = position[node];
+        if (slot >= 0) {
+            removeAt(slot);
+        }
+    }
+
+    private void removeAt(int slot) {
+        int removed = heap[slot];
+        position[removed] = -1;
+        size--;
+        if (slot == size)
+            return;
+
+        int last = heap[size];
+        heap[slot] = last;
+        position[last] = slot;
+        siftUp(slot);
+        siftDown(position[last]);
+    }
+
+    private void siftUp(int slot) {
+        int node = heap[slot];
+        float key = primary[node];
+        float tieKey = secondary[node];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> 1;
+            int parent = heap[parentSlot];
+            if (!less(key, tieKey, primary[parent], secondary[parent]))
+                break;
+            heap[slot] = parent;
+            position[parent] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = node;
+        position[node] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int node = heap[slot];
+        float key = primary[node];
+        float tieKey = secondary[node];
+        int half = size >>> 1;
+        while (slot < half) {
+            int childSlot = 2 * slot + 1;
+            int child = heap[childSlot];
+            int rightSlot = childSlot + 1;
+            if (rightSlot < size) {
+                int right = heap[rightSlot];
+                if (less(primary[right], secondary[right], primary[child], secondary[child])) {
+                    childSlot = rightSlot;
+                    child = right;
+                }
+            }
+            if (!less(primary[child], secondary[child], key, tieKey))
+                break;
+            heap[slot] = child;
+            position[child] = slot;
+            slot = childSlot;
+        }
+        heap[slot] = node;
+        position[node] = slot;
+    }
+
+    private static boolean less(float keyA, float tieA, float keyB, float tieB) {
+        return keyA < keyB || (keyA == keyB && tieA < tieB);
+    }
+}
@@ -0,0 +1,91 @@
+package utils;
+
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final long[] counts;
+    private long count;
+    private long total;
+    private long min;
+    private long max;
+
+    public LatencyHistogram() {
+        this.counts = new long[BUCKETS];
+        reset();
+    }
+
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+        counts[bucketOf(value)]++;
+        count++;
+        total += value;
+        if (value < min)
+            min = value;
+        if (value > max)
+            max = value;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        count = 0;
+        total = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    public long getPercentile(double fraction) {
+        if (count == 0)
+            return 0;
+        long rank = (long) Math.ceil(fraction * count);
+        if (rank < 1)
+            rank = 1;
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min(max, bucketMidpoint(i));
+        }
+        return max;
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT)
+            return BUCKETS - 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long bucketMidpoint(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) >> 1);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : total / (double) count;
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+}
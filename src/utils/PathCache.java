@@ -0,0 +1,207 @@
+package utils;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PathCache {
+    private static class Entry {
+        final long key;
+        final int goal;
+        final int[] tiles;
+
+        Entry(long key, int goal, int[] tiles) {
+            this.key = key;
+            this.goal = goal;
+            this.tiles = tiles;
+        }
+    }
+
+    private final int capacity;
+    private final Pathfinder pathfinder;
+    private final LinkedHashMap<Long, Entry> entries;
+    private final HashMap<Long, Entry> suffixIndex;
+    private CollisionGrid grid;
+    private int gridVersion;
+    private int cols;
+
+    private long hits;
+    private long suffixHits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public PathCache(int capacity, Pathfinder pathfinder) {
+        this.capacity = Math.max(1, capacity);
+        this.pathfinder = pathfinder;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.suffixIndex = new HashMap<>();
+    }
+
+    public List<Point> findPath(Point start, Point goal, CollisionGrid collisionMap, int version) {
+        List<Point> path = new ArrayList<>();
+        if (collisionMap == null || collisionMap.isEmpty() || start == null || goal == null)
+            return path;
+
+        if (collisionMap != grid || version != gridVersion) {
+            clear();
+            grid = collisionMap;
+            gridVersion = version;
+            cols = collisionMap.getCols();
+        }
+
+        int rows = collisionMap.getRows();
+        int startX = Math.max(0, Math.min(start.x, cols - 1));
+        int startY = Math.max(0, Math.min(start.y, rows - 1));
+        int goalX = Math.max(0, Math.min(goal.x, cols - 1));
+        int goalY = Math.max(0, Math.min(goal.y, rows - 1));
+        int startTile = startY * cols + startX;
+        int goalTile = goalY * cols + goalX;
+        long key = pack(startTile, goalTile);
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+            appendPoints(path, entry.tiles, 0);
+            return path;
+        }
+
+        entry = suffixIndex.get(pack(startTile, goalTile));
+        if (entry != null && entries.get(entry.key) == entry) {
+            int offset = indexOf(entry.tiles, startTile);
+            if (offset >= 0) {
+                suffixHits++;
+                appendPoints(path, entry.tiles, offset);
+                return path;
+            }
+        }
+
+        misses++;
+        int length = pathfinder.findPath(startX, startY, goalX, goalY, collisionMap);
+        if (length == 0)
+            return path;
+
+        int[] tiles = new int[length];
+        for (int i = 0; i < length; i++) {
+            tiles[i] = pathfinder.getPathIndex(i);
+        }
+        store(key, goalTile, tiles);
+        appendPoints(path, tiles, 0);
+        return path;
+    }
+
+    public void invalidateTile(int x, int y, boolean blocked, int version) {
+        if (grid == null)
+            return;
+        if (!blocked) {
+            clear();
+            gridVersion = version;
+            return;
+        }
+
+        int tile = y * cols + x;
+        Iterator<Map.Entry<Long, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next().getValue();
+            if (indexOf(entry.tiles, tile) >= 0) {
+                it.remove();
+                unindex(entry);
+                invalidations++;
+            }
+        }
+        gridVersion = version;
+    }
+
+    public void clear() {
+        invalidations += entries.size();
+        entries.clear();
+        suffixIndex.clear();
+    }
+
+    private void store(long key, int goalTile, int[] tiles) {
+        Entry entry = new Entry(key, goalTile, tiles);
+        entries.put(key, entry);
+        for (int tile : tiles) {
+            suffixIndex.put(pack(tile, goalTile), entry);
+        }
+
+        if (entries.size() > capacity) {
+            Iterator<Entry> it = entries.values().iterator();
+            Entry eldest = it.next();
+            it.remove();
+            unindex(eldest);
+            evictions++;
+        }
+    }
+
+    private void unindex(Entry entry) {
+        for (int tile : entry.tiles) {
+            long suffixKey = pack(tile, entry.goal);
+            if (suffixIndex.get(suffixKey) == entry) {
+                suffixIndex.remove(suffixKey);
+            }
+        }
+    }
+
+    private void appendPoints(List<Point> path, int[] tiles, int offset) {
+        for (int i = offset; i < tiles.length; i++) {
+            path.add(new Point(tiles[i] % cols, tiles[i] / cols));
+        }
+    }
+
+    private static int indexOf(int[] tiles, int tile) {
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] == tile)
+                return i;
+        }
+        return -1;
+    }
+
+    private static long pack(int startTile, int goalTile) {
+        return ((long) startTile << 32) | (goalTile & 0xffffffffL);
+    }
+
+    public Pathfinder getPathfinder() {
+        return pathfinder;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getSuffixHits() {
+        return suffixHits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public void resetStatistics() {
+        hits = 0;
+        suffixHits = 0;
+        misses = 0;
+        evictions = 0;
+        invalidations = 0;
+    }
+}
@@ -3,11 +3,17 @@ package utils;
 import java.awt.Point;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.PriorityQueue;
-import java.util.HashSet;
-import java.util.HashMap;
+import java.util.Arrays;
 
 public class Pathfinder {
+    public enum Mode {
+        ASTAR, JUMP_POINT
+    }
+
+    public enum SearchStatus {
+        RUNNING, FOUND, NOT_FOUND
+    }
+
     private static final int[][] DIRECTIONS = {
             { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 },
             { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 }
@@ -15,112 +21,477 @@ public class Pathfinder {
     private static final float STRAIGHT_COST = 1.0f;
     private static final float DIAGONAL_COST = 1.414f;
 
-    private static class Node {
-        Point point;
-        float gScore;
-        float hScore;
-        float fScore;
+    private int cols;
+    private int rows;
+    private float[] gScore;
+    private int[] parent;
+    private int[] seenStamp;
+    private int[] closedStamp;
+    private int generation;
+    private IndexedMinHeap openSet;
+    private int[] pathBuffer;
+    private int pathLength;
+    private final int[] neighborX = new int[DIRECTIONS.length];
+    private final int[] neighborY = new int[DIRECTIONS.length];
+    private Mode mode;
+    private int lastNodesExpanded;
+    private long totalNodesExpanded;
+    private long searchCount;
+    private CollisionGrid searchGrid;
+    private int searchGoal;
+    private int searchStamp;
+    private Mode searchMode;
+    private ClearanceMap searchClearance;
+    private int searchSize = 1;
+    private SearchStatus searchStatus = SearchStatus.NOT_FOUND;
 
-        Node(Point point, float gScore, float hScore) {
-            this.point = point;
-            this.gScore = gScore;
-            this.hScore = hScore;
-            this.fScore = gScore + hScore;
-        }
+    public Pathfinder() {
+        this(Mode.ASTAR);
     }
 
-    public Pathfinder() {
+    public Pathfinder(Mode mode) {
+        this.mode = mode;
+        this.openSet = new IndexedMinHeap(0);
+        this.gScore = new float[0];
+        this.parent = new int[0];
+        this.seenStamp = new int[0];
+        this.closedStamp = new int[0];
+        this.pathBuffer = new int[0];
     }
 
-    public List<Point> findPath(Point start, Point goal, int[][] collisionMap) {
+    public List<Point> findPath(Point start, Point goal, CollisionGrid collisionMap) {
         List<Point> path = new ArrayList<>();
         if (collisionMap == null || start == null || goal == null)
             return path;
 
-        int mapHeight = collisionMap.length;
-        int mapWidth = collisionMap[0].length;
-
-        int startX = Math.max(0, Math.min(start.x, mapWidth - 1));
-        int startY = Math.max(0, Math.min(start.y, mapHeight - 1));
-        int goalX = Math.max(0, Math.min(goal.x, mapWidth - 1));
-        int goalY = Math.max(0, Math.min(goal.y, mapHeight - 1));
+        int length = findPath(start.x, start.y, goal.x, goal.y, collisionMap);
+        for (int i = 0; i < length; i++) {
+            path.add(new Point(getPathX(i), getPathY(i)));
+        }
+        return path;
+    }
 
-        if (collisionMap[startY][startX] != 0 || collisionMap[goalY][goalX] != 0)
+    public List<Point> findPath(Point start, Point goal, ClearanceMap clearance, int size) {
+        List<Point> path = new ArrayList<>();
+        if (clearance == null || start == null || goal == null)
             return path;
 
-        Point startPoint = new Point(startX, startY);
-        Point goalPoint = new Point(goalX, goalY);
+        int length = findPath(start.x, start.y, goal.x, goal.y, clearance, size);
+        for (int i = 0; i < length; i++) {
+            path.add(new Point(getPathX(i), getPathY(i)));
+        }
+        return path;
+    }
+
+    public int findPath(int startX, int startY, int goalX, int goalY, CollisionGrid collisionMap) {
+        FlightEvents.PathSearchEvent event = new FlightEvents.PathSearchEvent();
+        event.begin();
+        if (beginSearch(startX, startY, goalX, goalY, collisionMap) == SearchStatus.RUNNING) {
+            step(Integer.MAX_VALUE);
+        }
+        commitSearchEvent(event, startX, startY, goalX, goalY, 1);
+        return pathLength;
+    }
+
+    public int findPath(int startX, int startY, int goalX, int goalY, ClearanceMap clearance, int size) {
+        FlightEvents.PathSearchEvent event = new FlightEvents.PathSearchEvent();
+        event.begin();
+        if (beginSearch(startX, startY, goalX, goalY, clearance, size) == SearchStatus.RUNNING) {
+            step(Integer.MAX_VALUE);
+        }
+        commitSearchEvent(event, startX, startY, goalX, goalY, size);
+        return pathLength;
+    }
+
+    private void commitSearchEvent(FlightEvents.PathSearchEvent event, int startX, int startY, int goalX, int goalY,
+            int size) {
+        if (!event.shouldCommit())
+            return;
+        event.startX = startX;
+        event.startY = startY;
+        event.goalX = goalX;
+        event.goalY = goalY;
+        event.size = size;
+        event.mode = mode.name();
+        event.nodesExpanded = lastNodesExpanded;
+        event.pathLength = pathLength;
+        event.found = searchStatus == SearchStatus.FOUND;
+        event.commit();
+    }
+
+    public SearchStatus beginSearch(int startX, int startY, int goalX, int goalY, CollisionGrid collisionMap) {
+        return beginSearch(startX, startY, goalX, goalY, collisionMap, null, 1);
+    }
+
+    public SearchStatus beginSearch(int startX, int startY, int goalX, int goalY, ClearanceMap clearance,
+            int size) {
+        if (clearance == null) {
+            pathLength = 0;
+            searchGrid = null;
+            searchStatus = SearchStatus.NOT_FOUND;
+            return searchStatus;
+        }
+        return beginSearch(startX, startY, goalX, goalY, clearance.getGrid(), clearance, size);
+    }
+
+    private SearchStatus beginSearch(int startX, int startY, int goalX, int goalY, CollisionGrid collisionMap,
+            ClearanceMap clearance, int size) {
+        pathLength = 0;
+        searchGrid = null;
+        searchStatus = SearchStatus.NOT_FOUND;
+        if (collisionMap == null || collisionMap.isEmpty())
+            return searchStatus;
+        searchClearance = clearance;
+        searchSize = (clearance == null) ? 1 : Math.max(1, size);
 
-        PriorityQueue<Node> openSet = new PriorityQueue<>((n1, n2) -> Float.compare(n1.fScore, n2.fScore));
-        HashSet<String> closedSet = new HashSet<>();
-        HashMap<String, Node> cameFrom = new HashMap<>();
+        int mapHeight = collisionMap.getRows();
+        int mapWidth = collisionMap.getCols();
+        prepare(mapWidth, mapHeight);
 
-        Node startNode = new Node(startPoint, 0, heuristic(startPoint, goalPoint));
-        openSet.add(startNode);
+        startX = Math.max(0, Math.min(startX, mapWidth - 1));
+        startY = Math.max(0, Math.min(startY, mapHeight - 1));
+        goalX = Math.max(0, Math.min(goalX, mapWidth - 1));
+        goalY = Math.max(0, Math.min(goalY, mapHeight - 1));
+
+        if (!isWalkable(startX, startY, collisionMap) || !isWalkable(goalX, goalY, collisionMap))
+            return searchStatus;
+
+        int startIndex = startY * mapWidth + startX;
+        searchGoal = goalY * mapWidth + goalX;
+        searchStamp = nextGeneration();
+        searchGrid = collisionMap;
+        searchMode = mode;
+        searchStatus = SearchStatus.RUNNING;
+        lastNodesExpanded = 0;
+        searchCount++;
+
+        openSet.clear();
+        gScore[startIndex] = 0;
+        parent[startIndex] = -1;
+        seenStamp[startIndex] = searchStamp;
+        float startH = heuristic(startX, startY, goalX, goalY);
+        openSet.push(startIndex, startH, startH);
+        return searchStatus;
+    }
+
+    public SearchStatus step(int maxExpansions) {
+        if (searchStatus != SearchStatus.RUNNING)
+            return searchStatus;
+
+        int expandedBefore = lastNodesExpanded;
+        searchStatus = (searchMode == Mode.JUMP_POINT)
+                ? searchJumpPoint(maxExpansions)
+                : searchAStar(maxExpansions);
+        totalNodesExpanded += lastNodesExpanded - expandedBefore;
+        if (searchStatus != SearchStatus.RUNNING) {
+            searchGrid = null;
+        }
+        return searchStatus;
+    }
+
+    public void cancelSearch() {
+        if (searchStatus == SearchStatus.RUNNING) {
+            searchStatus = SearchStatus.NOT_FOUND;
+            searchGrid = null;
+        }
+    }
+
+    public SearchStatus getSearchStatus() {
+        return searchStatus;
+    }
+
+    private SearchStatus searchAStar(int maxExpansions) {
+        CollisionGrid collisionMap = searchGrid;
+        int goalIndex = searchGoal;
+        int stamp = searchStamp;
+        int goalX = goalIndex % cols;
+        int goalY = goalIndex / cols;
+        int expanded = 0;
 
         while (!openSet.isEmpty()) {
-            Node current = openSet.poll();
-            if (current.point.equals(goalPoint)) {
-                return reconstructPath(cameFrom, current);
+            if (expanded >= maxExpansions)
+                return SearchStatus.RUNNING;
+            int current = openSet.pop();
+            expanded++;
+            lastNodesExpanded++;
+            if (current == goalIndex) {
+                reconstructPath(goalIndex);
+                return SearchStatus.FOUND;
             }
+            closedStamp[current] = stamp;
 
-            String currentKey = current.point.x + "," + current.point.y;
-            closedSet.add(currentKey);
+            int currentX = current % cols;
+            int currentY = current / cols;
+            float currentG = gScore[current];
 
             for (int i = 0; i < DIRECTIONS.length; i++) {
-                int newX = current.point.x + DIRECTIONS[i][0];
-                int newY = current.point.y + DIRECTIONS[i][1];
+                int newX = currentX + DIRECTIONS[i][0];
+                int newY = currentY + DIRECTIONS[i][1];
 
-                if (newX < 0 || newX >= mapWidth || newY < 0 || newY >= mapHeight)
+                if (!isWalkable(newX, newY, collisionMap))
                     continue;
-                if (collisionMap[newY][newX] != 0)
+
+                int neighbor = newY * cols + newX;
+                if (closedStamp[neighbor] == stamp)
                     continue;
 
-                String neighborKey = newX + "," + newY;
-                if (closedSet.contains(neighborKey))
+                float tentativeG = currentG + ((i < 4) ? STRAIGHT_COST : DIAGONAL_COST);
+                if (seenStamp[neighbor] == stamp && tentativeG >= gScore[neighbor])
                     continue;
 
-                float cost = (i < 4) ? STRAIGHT_COST : DIAGONAL_COST;
-                float gScore = current.gScore + cost;
-                Point neighborPoint = new Point(newX, newY);
-                float hScore = heuristic(neighborPoint, goalPoint);
-                Node neighbor = new Node(neighborPoint, gScore, hScore);
-
-                boolean isNewNode = true;
-                for (Node node : openSet) {
-                    if (node.point.equals(neighborPoint)) {
-                        if (gScore < node.gScore) {
-                            openSet.remove(node);
-                            openSet.add(neighbor);
-                            cameFrom.put(neighborKey, current);
-                        }
-                        isNewNode = false;
-                        break;
-                    }
-                }
+                seenStamp[neighbor] = stamp;
+                gScore[neighbor] = tentativeG;
+                parent[neighbor] = current;
+                float h = heuristic(newX, newY, goalX, goalY);
+                openSet.push(neighbor, tentativeG + h, h);
+            }
+        }
+        return SearchStatus.NOT_FOUND;
+    }
+
+    private SearchStatus searchJumpPoint(int maxExpansions) {
+        CollisionGrid collisionMap = searchGrid;
+        int goalIndex = searchGoal;
+        int stamp = searchStamp;
+        int goalX = goalIndex % cols;
+        int goalY = goalIndex / cols;
+        int expanded = 0;
+
+        while (!openSet.isEmpty()) {
+            if (expanded >= maxExpansions)
+                return SearchStatus.RUNNING;
+            int current = openSet.pop();
+            expanded++;
+            lastNodesExpanded++;
+            if (current == goalIndex) {
+                reconstructJumpPath(goalIndex);
+                return SearchStatus.FOUND;
+            }
+            closedStamp[current] = stamp;
+
+            int currentX = current % cols;
+            int currentY = current / cols;
+            float currentG = gScore[current];
+            int neighborCount = prunedNeighbors(current, collisionMap);
+
+            for (int i = 0; i < neighborCount; i++) {
+                int dx = Integer.signum(neighborX[i] - currentX);
+                int dy = Integer.signum(neighborY[i] - currentY);
+                int jumpPoint = jump(neighborX[i], neighborY[i], dx, dy, goalX, goalY, collisionMap);
+                if (jumpPoint < 0 || closedStamp[jumpPoint] == stamp)
+                    continue;
+
+                int jumpX = jumpPoint % cols;
+                int jumpY = jumpPoint / cols;
+                float tentativeG = currentG + heuristic(currentX, currentY, jumpX, jumpY);
+                if (seenStamp[jumpPoint] == stamp && tentativeG >= gScore[jumpPoint])
+                    continue;
 
-                if (isNewNode) {
-                    openSet.add(neighbor);
-                    cameFrom.put(neighborKey, current);
+                seenStamp[jumpPoint] = stamp;
+                gScore[jumpPoint] = tentativeG;
+                parent[jumpPoint] = current;
+                float h = heuristic(jumpX, jumpY, goalX, goalY);
+                openSet.push(jumpPoint, tentativeG + h, h);
+            }
+        }
+        return SearchStatus.NOT_FOUND;
+    }
+
+    private int prunedNeighbors(int node, CollisionGrid collisionMap) {
+        int x = node % cols;
+        int y = node / cols;
+        int count = 0;
+
+        if (parent[node] < 0) {
+            for (int i = 0; i < DIRECTIONS.length; i++) {
+                int newX = x + DIRECTIONS[i][0];
+                int newY = y + DIRECTIONS[i][1];
+                if (isWalkable(newX, newY, collisionMap)) {
+                    neighborX[count] = newX;
+                    neighborY[count] = newY;
+                    count++;
                 }
             }
+            return count;
         }
-        return path;
+
+        int dx = Integer.signum(x - parent[node] % cols);
+        int dy = Integer.signum(y - parent[node] / cols);
+
+        if (dx != 0 && dy != 0) {
+            count = addIfWalkable(x, y + dy, count, collisionMap);
+            count = addIfWalkable(x + dx, y, count, collisionMap);
+            count = addIfWalkable(x + dx, y + dy, count, collisionMap);
+            if (!isWalkable(x - dx, y, collisionMap))
+                count = addIfWalkable(x - dx, y + dy, count, collisionMap);
+            if (!isWalkable(x, y - dy, collisionMap))
+                count = addIfWalkable(x + dx, y - dy, count, collisionMap);
+        } else if (dx != 0) {
+            count = addIfWalkable(x + dx, y, count, collisionMap);
+            if (!isWalkable(x, y + 1, collisionMap))
+                count = addIfWalkable(x + dx, y + 1, count, collisionMap);
+            if (!isWalkable(x, y - 1, collisionMap))
+                count = addIfWalkable(x + dx, y - 1, count, collisionMap);
+        } else {
+            count = addIfWalkable(x, y + dy, count, collisionMap);
+            if (!isWalkable(x + 1, y, collisionMap))
+                count = addIfWalkable(x + 1, y + dy, count, collisionMap);
+            if (!isWalkable(x - 1, y, collisionMap))
+                count = addIfWalkable(x - 1, y + dy, count, collisionMap);
+        }
+        return count;
     }
 
-    private List<Point> reconstructPath(HashMap<String, Node> cameFrom, Node current) {
-        List<Point> path = new ArrayList<>();
-        path.add(current.point);
-        String currentKey = current.point.x + "," + current.point.y;
-        while (cameFrom.containsKey(currentKey)) {
-            Node previous = cameFrom.get(currentKey);
-            path.add(0, previous.point);
-            currentKey = previous.point.x + "," + previous.point.y;
+    private int addIfWalkable(int x, int y, int count, CollisionGrid collisionMap) {
+        if (isWalkable(x, y, collisionMap)) {
+            neighborX[count] = x;
+            neighborY[count] = y;
+            count++;
         }
-        return path;
+        return count;
+    }
+
+    private int jump(int x, int y, int dx, int dy, int goalX, int goalY, CollisionGrid collisionMap) {
+        while (true) {
+            if (!isWalkable(x, y, collisionMap))
+                return -1;
+            if (x == goalX && y == goalY)
+                return y * cols + x;
+
+            if (dx != 0 && dy != 0) {
+                if ((isWalkable(x - dx, y + dy, collisionMap) && !isWalkable(x - dx, y, collisionMap))
+                        || (isWalkable(x + dx, y - dy, collisionMap) && !isWalkable(x, y - dy, collisionMap)))
+                    return y * cols + x;
+                if (jump(x + dx, y, dx, 0, goalX, goalY, collisionMap) >= 0
+                        || jump(x, y + dy, 0, dy, goalX, goalY, collisionMap) >= 0)
+                    return y * cols + x;
+            } else if (dx != 0) {
+                if ((isWalkable(x + dx, y + 1, collisionMap) && !isWalkable(x, y + 1, collisionMap))
+                        || (isWalkable(x + dx, y - 1, collisionMap) && !isWalkable(x, y - 1, collisionMap)))
+                    return y * cols + x;
+            } else {
+                if ((isWalkable(x + 1, y + dy, collisionMap) && !isWalkable(x + 1, y, collisionMap))
+                        || (isWalkable(x - 1, y + dy, collisionMap) && !isWalkable(x - 1, y, collisionMap)))
+                    return y * cols + x;
+            }
+
+            x += dx;
+            y += dy;
+        }
+    }
+
+    private boolean isWalkable(int x, int y, CollisionGrid collisionMap) {
+        if (searchSize > 1)
+            return searchClearance.fits(x, y, searchSize);
+        return collisionMap.isWalkable(x, y);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getLastNodesExpanded() {
+        return lastNodesExpanded;
+    }
+
+    public long getTotalNodesExpanded() {
+        return totalNodesExpanded;
+    }
+
+    public long getSearchCount() {
+        return searchCount;
+    }
+
+    public void resetStatistics() {
+        totalNodesExpanded = 0;
+        searchCount = 0;
+    }
+
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    public int getPathIndex(int i) {
+        return pathBuffer[i];
+    }
+
+    public int getPathX(int i) {
+        return pathBuffer[i] % cols;
+    }
+
+    public int getPathY(int i) {
+        return pathBuffer[i] / cols;
+    }
+
+    private void prepare(int mapWidth, int mapHeight) {
+        cols = mapWidth;
+        rows = mapHeight;
+        int tileCount = mapWidth * mapHeight;
+        if (gScore.length < tileCount) {
+            gScore = new float[tileCount];
+            parent = new int[tileCount];
+            seenStamp = new int[tileCount];
+            closedStamp = new int[tileCount];
+            pathBuffer = new int[tileCount];
+            generation = 0;
+        }
+        openSet.ensureCapacity(tileCount);
+    }
+
+    private int nextGeneration() {
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(seenStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 0;
+        }
+        return ++generation;
+    }
+
+    private int reconstructJumpPath(int goalIndex) {
+        int length = 1;
+        for (int node = goalIndex; parent[node] != -1; node = parent[node]) {
+            int from = parent[node];
+            length += Math.max(Math.abs(node % cols - from % cols), Math.abs(node / cols - from / cols));
+        }
+
+        int i = length;
+        pathBuffer[--i] = goalIndex;
+        for (int node = goalIndex; parent[node] != -1; node = parent[node]) {
+            int from = parent[node];
+            int stepX = Integer.signum(from % cols - node % cols);
+            int stepY = Integer.signum(from / cols - node / cols);
+            int x = node % cols;
+            int y = node / cols;
+            while (y * cols + x != from) {
+                x += stepX;
+                y += stepY;
+                pathBuffer[--i] = y * cols + x;
+            }
+        }
+        pathLength = length;
+        return length;
+    }
+
+    private int reconstructPath(int goalIndex) {
+        int length = 0;
+        for (int node = goalIndex; node != -1; node = parent[node]) {
+            length++;
+        }
+        int i = length;
+        for (int node = goalIndex; node != -1; node = parent[node]) {
+            pathBuffer[--i] = node;
+        }
+        pathLength = length;
+        return length;
     }
 
-    private float heuristic(Point a, Point b) {
-        return Math.abs(a.x - b.x) + Math.abs(a.y - b.y);
+    private float heuristic(int ax, int ay, int bx, int by) {
+        int dx = Math.abs(ax - bx);
+        int dy = Math.abs(ay - by);
+        return STRAIGHT_COST * (dx + dy) + (DIAGONAL_COST - 2 * STRAIGHT_COST) * Math.min(dx, dy);
     }
 }
@@ -0,0 +1,52 @@
+package utils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TripleBuffer<T> {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final List<T> buffers;
+    private final AtomicInteger shared;
+    private int back;
+    private int front;
+    private long published;
+    private long consumed;
+
+    public TripleBuffer(T first, T second, T third) {
+        this.buffers = List.of(first, second, third);
+        this.back = 0;
+        this.shared = new AtomicInteger(1);
+        this.front = 2;
+    }
+
+    public T getBack() {
+        return buffers.get(back);
+    }
+
+    public void publish() {
+        back = shared.getAndSet(back | FRESH) & INDEX_MASK;
+        published++;
+    }
+
+    public boolean hasFresh() {
+        return (shared.get() & FRESH) != 0;
+    }
+
+    public T acquire() {
+        if ((shared.get() & FRESH) != 0) {
+            front = shared.getAndSet(front) & INDEX_MASK;
+            consumed++;
+        }
+        return buffers.get(front);
+    }
+
+    public long getPublished() {
+        return published;
+    }
+
+    public long getConsumed() {
+        return consumed;
+    }
+}
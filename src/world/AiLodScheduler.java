@@ -0,0 +1,110 @@
+package world;
+
+public class AiLodScheduler {
+    public enum Tier {
+        NEAR, MID, DORMANT
+    }
+
+    private static final Tier[] TIERS = Tier.values();
+
+    private boolean enabled;
+    private float nearRadius;
+    private int midInterval;
+    private final int[] tierCounts;
+    private int lastAiUpdates;
+
+    public AiLodScheduler(float nearRadius, int midInterval) {
+        this.enabled = true;
+        this.nearRadius = nearRadius;
+        this.midInterval = Math.max(1, midInterval);
+        this.tierCounts = new int[TIERS.length];
+    }
+
+    public void schedule(ZombieStore zombies, WorldSnapshot world, float dt) {
+        for (int t = 0; t < tierCounts.length; t++) {
+            tierCounts[t] = 0;
+        }
+        lastAiUpdates = 0;
+        long tick = world.getTick();
+
+        float playerX = world.getPlayerX();
+        float playerY = world.getPlayerY();
+        float nearSquared = nearRadius * nearRadius;
+        int count = zombies.size();
+        for (int i = 0; i < count; i++) {
+            if (!zombies.isAlive(i)) {
+                zombies.setAiDue(i, false);
+                continue;
+            }
+
+            float accumulated = zombies.getAiAccumulator(i) + dt;
+            Tier tier = Tier.NEAR;
+            if (enabled) {
+                float dx = playerX - zombies.getX(i);
+                float dy = playerY - zombies.getY(i);
+                float distanceSquared = dx * dx + dy * dy;
+                float range = zombies.getDetectionRange(i);
+                if (distanceSquared >= range * range) {
+                    tier = Tier.DORMANT;
+                } else if (distanceSquared >= nearSquared) {
+                    tier = Tier.MID;
+                }
+            }
+
+            int previous = zombies.getLodTier(i);
+            zombies.setLodTier(i, tier.ordinal());
+            tierCounts[tier.ordinal()]++;
+
+            if (tier == Tier.DORMANT) {
+                if (previous != Tier.DORMANT.ordinal())
+                    zombies.get(i).goDormant();
+                zombies.setVelocity(i, 0, 0);
+                zombies.setAiAccumulator(i, 0);
+                zombies.setAiDue(i, false);
+                continue;
+            }
+
+            boolean due = tier == Tier.NEAR || previous == Tier.DORMANT.ordinal()
+                    || (tick + i) % midInterval == 0;
+            zombies.setAiDue(i, due);
+            zombies.setAiAccumulator(i, accumulated);
+            if (due) {
+                lastAiUpdates++;
+            } else {
+                zombies.setVelocity(i, zombies.getIntentX(i), zombies.getIntentY(i));
+            }
+        }
+    }
+
+    public int getTierCount(Tier tier) {
+        return tierCounts[tier.ordinal()];
+    }
+
+    public int getLastAiUpdates() {
+        return lastAiUpdates;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public float getNearRadius() {
+        return nearRadius;
+    }
+
+    public void setNearRadius(float nearRadius) {
+        this.nearRadius = nearRadius;
+    }
+
+    public int getMidInterval() {
+        return midInterval;
+    }
+
+    public void setMidInterval(int midInterval) {
+        this.midInterval = Math.max(1, midInterval);
+    }
+}
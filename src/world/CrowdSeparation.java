@@ -0,0 +1,149 @@
+package world;
+
+import entities.Player;
+import entities.Zombie;
+
+public class CrowdSeparation {
+    private static final int CANDIDATES_PER_NEIGHBOUR = 4;
+
+    private int neighbourCap;
+    private float strength;
+    private float radiusScale;
+    private int[] nearest;
+    private float[] nearestDistance;
+    private long neighboursVisited;
+    private int lastFramePushes;
+
+    public CrowdSeparation(int neighbourCap, float strength) {
+        this.neighbourCap = Math.max(1, neighbourCap);
+        this.strength = strength;
+        this.radiusScale = 0.45f;
+        this.nearest = new int[this.neighbourCap];
+        this.nearestDistance = new float[this.neighbourCap];
+    }
+
+    public void apply(ZombieStore zombies, SpatialHash<Zombie> zombieIndex, Player player,
+            Environment environment, float dt) {
+        lastFramePushes = 0;
+        float playerRadius = radiusOf(player.getWidth(), player.getHeight());
+        float playerCenterX = player.getX() + player.getWidth() * 0.5f;
+        float playerCenterY = player.getY() + player.getHeight() * 0.5f;
+
+        for (int i = 0; i < zombies.size(); i++) {
+            if (!zombies.isAlive(i))
+                continue;
+
+            Zombie zombie = zombies.get(i);
+            float width = zombie.getWidth();
+            float height = zombie.getHeight();
+            float radius = radiusOf(width, height);
+            float centerX = zombies.getX(i) + width * 0.5f;
+            float centerY = zombies.getY(i) + height * 0.5f;
+            int found = collectNeighbours(i, zombies, zombieIndex, centerX - width * 0.5f, centerY - height * 0.5f,
+                    width, height);
+
+            float pushX = 0;
+            float pushY = 0;
+            for (int n = 0; n < found; n++) {
+                int c = nearest[n];
+                float otherRadius = radiusOf(zombieIndex.getResultWidth(c), zombieIndex.getResultHeight(c));
+                float dx = centerX - (zombieIndex.getResultX(c) + zombieIndex.getResultWidth(c) * 0.5f);
+                float dy = centerY - (zombieIndex.getResultY(c) + zombieIndex.getResultHeight(c) * 0.5f);
+                float overlap = radius + otherRadius - nearestDistance[n];
+                if (overlap <= 0)
+                    continue;
+
+                if (nearestDistance[n] > 0) {
+                    float scale = overlap / (radius + otherRadius) / nearestDistance[n];
+                    pushX += dx * scale;
+                    pushY += dy * scale;
+                } else {
+                    pushX += (i < zombieIndex.getResultIndex(nearest[n])) ? -1 : 1;
+                }
+            }
+
+            float dx = centerX - playerCenterX;
+            float dy = centerY - playerCenterY;
+            float distance = (float) Math.sqrt(dx * dx + dy * dy);
+            float overlap = radius + playerRadius - distance;
+            if (overlap > 0 && distance > 0) {
+                float scale = overlap / (radius + playerRadius) / distance;
+                pushX += dx * scale;
+                pushY += dy * scale;
+            }
+
+            if (pushX != 0 || pushY != 0) {
+                zombie.applySeparation(pushX * strength, pushY * strength, environment, dt);
+                lastFramePushes++;
+            }
+        }
+    }
+
+    private int collectNeighbours(int self, ZombieStore zombies, SpatialHash<Zombie> zombieIndex, float x,
+            float y, float width, float height) {
+        int candidates = zombieIndex.queryRect(x, y, width, height, neighbourCap * CANDIDATES_PER_NEIGHBOUR + 1);
+        float centerX = x + width * 0.5f;
+        float centerY = y + height * 0.5f;
+        int found = 0;
+        for (int c = 0; c < candidates; c++) {
+            int index = zombieIndex.getResultIndex(c);
+            if (index == self || !zombies.isAlive(index))
+                continue;
+
+            neighboursVisited++;
+            float dx = centerX - (zombieIndex.getResultX(c) + zombieIndex.getResultWidth(c) * 0.5f);
+            float dy = centerY - (zombieIndex.getResultY(c) + zombieIndex.getResultHeight(c) * 0.5f);
+            float distance = (float) Math.sqrt(dx * dx + dy * dy);
+            if (found == neighbourCap && distance >= nearestDistance[found - 1])
+                continue;
+
+            int slot = (found < neighbourCap) ? found++ : found - 1;
+            while (slot > 0 && nearestDistance[slot - 1] > distance) {
+                nearest[slot] = nearest[slot - 1];
+                nearestDistance[slot] = nearestDistance[slot - 1];
+                slot--;
+            }
+            nearest[slot] = c;
+            nearestDistance[slot] = distance;
+        }
+        return found;
+    }
+
+    private float radiusOf(float width, float height) {
+        return Math.min(width, height) * radiusScale;
+    }
+
+    public int getNeighbourCap() {
+        return neighbourCap;
+    }
+
+    public void setNeighbourCap(int neighbourCap) {
+        this.neighbourCap = Math.max(1, neighbourCap);
+        this.nearest = new int[this.neighbourCap];
+        this.nearestDistance = new float[this.neighbourCap];
+    }
+
+    public float getStrength() {
+        return strength;
+    }
+
+    public void setStrength(float strength) {
+        this.strength = strength;
+    }
+
+    public float getRadiusScale() {
+        return radiusScale;
+    }
+
+    public void setRadiusScale(float radiusScale) {
+        this.radiusScale = Math.max(0, Math.min(0.5f, radiusScale));
+    }
+
+    public long getNeighboursVisited() {
+        return neighboursVisited;
+    }
+
+    public int getLastFramePushes() {
+        return lastFramePushes;
+    }
+}
@@ -6,21 +6,34 @@ import entities.Entity;
 import entities.Character;
 import entities.Player;
 import entities.Zombie;
+import utils.ClearanceMap;
+import utils.CollisionGrid;
 
 public class Environment {
+    public interface CollisionListener {
+        void collisionTileChanged(int x, int y);
+
+        void collisionTilesReplaced();
+    }
+
     private String background;
-    private int[][] collisionTiles;
+    private CollisionGrid collisionGrid;
+    private ClearanceMap clearanceMap;
     private List<Entity> objects;
     private int tileSize;
     private int width;
     private int height;
+    private int collisionVersion;
+    private List<CollisionListener> collisionListeners;
 
     public Environment(int width, int height, int tileSize) {
         this.width = width;
         this.height = height;
         this.tileSize = tileSize;
         this.objects = new ArrayList<>();
-        this.collisionTiles = new int[height / tileSize][width / tileSize];
+        this.collisionListeners = new ArrayList<>();
+        this.collisionGrid = new CollisionGrid(width / tileSize, height / tileSize);
+        this.clearanceMap = new ClearanceMap(collisionGrid);
     }
 
     public void update(float dt) {
@@ -46,17 +59,75 @@ public class Environment {
     }
 
     public boolean isWalkable(float x, float y) {
-        int tileX = (int) (x / tileSize);
-        int tileY = (int) (y / tileSize);
+        return collisionGrid.isWalkable((int) (x / tileSize), (int) (y / tileSize));
+    }
+
+    public boolean isTileWalkable(int tileX, int tileY) {
+        return collisionGrid.isWalkable(tileX, tileY);
+    }
 
-        if (tileX < 0 || tileX >= collisionTiles[0].length || tileY < 0 || tileY >= collisionTiles.length) {
+    public boolean isAreaWalkable(float x, float y, float width, float height) {
+        int fromX = (int) (x / tileSize);
+        int fromY = (int) (y / tileSize);
+        int toX = (int) ((x + width - 1) / tileSize);
+        int toY = (int) ((y + height - 1) / tileSize);
+        return !collisionGrid.anyBlockedInRect(fromX, fromY, toX, toY);
+    }
+
+    public boolean hasLineOfSight(float fromX, float fromY, float toX, float toY, float width, float height) {
+        if (collisionGrid.isEmpty())
             return false;
-        }
 
-        return collisionTiles[tileY][tileX] == 0;
+        float extentX = Math.max(0, width - 1);
+        float extentY = Math.max(0, height - 1);
+        int firstRow = (int) Math.floor(Math.min(fromY, toY) / tileSize);
+        int lastRow = (int) Math.floor((Math.max(fromY, toY) + extentY) / tileSize);
+        if (firstRow < 0 || lastRow >= collisionGrid.getRows())
+            return false;
+
+        float dx = toX - fromX;
+        float dy = toY - fromY;
+        for (int row = firstRow; row <= lastRow; row++) {
+            float low = 0;
+            float high = 1;
+            if (dy != 0) {
+                float enter = (row * tileSize - extentY - fromY) / dy;
+                float exit = ((row + 1) * tileSize - fromY) / dy;
+                low = Math.max(0, Math.min(enter, exit));
+                high = Math.min(1, Math.max(enter, exit));
+                if (low > high)
+                    continue;
+            }
+
+            float startX = fromX + dx * low;
+            float endX = fromX + dx * high;
+            int firstCol = (int) Math.floor(Math.min(startX, endX) / tileSize);
+            int lastCol = (int) Math.floor((Math.max(startX, endX) + extentX) / tileSize);
+            if (collisionGrid.anyBlockedInRow(row, firstCol, lastCol))
+                return false;
+        }
+        return true;
     }
 
     public void checkCollisions(Player player, List<Zombie> zombies) {
+        clampPlayer(player);
+        for (Zombie zombie : zombies) {
+            clampZombie(zombie);
+        }
+    }
+
+    public void checkCollisions(Player player, ZombieStore zombies, SpatialHash<Zombie> zombieIndex) {
+        clampPlayer(player);
+
+        float limitX = getZombieLimitX();
+        float limitY = getZombieLimitY();
+        for (int i = 0; i < zombies.size(); i++) {
+            if (zombies.clampPosition(i, limitX, limitY))
+                zombieIndex.refresh(i);
+        }
+    }
+
+    private void clampPlayer(Player player) {
         float playerX = player.getX();
         float playerY = player.getY();
 
@@ -68,32 +139,21 @@ public class Environment {
             player.setX(width - player.getWidth());
         if (playerY + player.getHeight() > height)
             player.setY(height - player.getHeight());
+    }
 
-        for (Zombie zombie : zombies) {
-            if (collisionTiles != null && collisionTiles.length > 0) {
-                int cols = collisionTiles[0].length;
-                int rows = collisionTiles.length;
-                float maxXz = cols * tileSize - zombie.getWidth();
-                float maxYz = rows * tileSize - zombie.getHeight();
-                if (zombie.getX() < 0)
-                    zombie.setX(0);
-                if (zombie.getY() < 0)
-                    zombie.setY(0);
-                if (zombie.getX() > maxXz)
-                    zombie.setX(maxXz);
-                if (zombie.getY() > maxYz)
-                    zombie.setY(maxYz);
-            } else {
-                if (zombie.getX() < 0)
-                    zombie.setX(0);
-                if (zombie.getY() < 0)
-                    zombie.setY(0);
-                if (zombie.getX() + zombie.getWidth() > width)
-                    zombie.setX(width - zombie.getWidth());
-                if (zombie.getY() + zombie.getHeight() > height)
-                    zombie.setY(height - zombie.getHeight());
-            }
-        }
+    private void clampZombie(Zombie zombie) {
+        float maxX = getZombieLimitX() - zombie.getWidth();
+        float maxY = getZombieLimitY() - zombie.getHeight();
+        zombie.setX(Math.max(0, Math.min(zombie.getX(), maxX)));
+        zombie.setY(Math.max(0, Math.min(zombie.getY(), maxY)));
+    }
+
+    private float getZombieLimitX() {
+        return collisionGrid.isEmpty() ? width : collisionGrid.getCols() * tileSize;
+    }
+
+    private float getZombieLimitY() {
+        return collisionGrid.isEmpty() ? height : collisionGrid.getRows() * tileSize;
     }
 
     public String getBackground() {
@@ -104,17 +164,50 @@ public class Environment {
         this.background = background;
     }
 
-    public int[][] getCollisionTiles() {
-        return collisionTiles;
+    public CollisionGrid getCollisionGrid() {
+        return collisionGrid;
     }
 
-    public void setCollisionTiles(int[][] tiles) {
-        this.collisionTiles = tiles;
+    public void setCollisionGrid(CollisionGrid grid) {
+        this.collisionGrid = grid;
+        clearanceMap.rebuild(grid);
+        collisionVersion++;
+        notifyTilesReplaced();
     }
 
     public void setCollisionTile(int x, int y, int value) {
-        if (y >= 0 && y < collisionTiles.length && x >= 0 && x < collisionTiles[0].length) {
-            collisionTiles[y][x] = value;
+        if (collisionGrid.set(x, y, value != 0)) {
+            clearanceMap.tileChanged(x, y);
+            collisionVersion++;
+            notifyTileChanged(x, y);
+        }
+    }
+
+    public ClearanceMap getClearanceMap() {
+        return clearanceMap;
+    }
+
+    public int getCollisionVersion() {
+        return collisionVersion;
+    }
+
+    public void addCollisionListener(CollisionListener listener) {
+        collisionListeners.add(listener);
+    }
+
+    public void removeCollisionListener(CollisionListener listener) {
+        collisionListeners.remove(listener);
+    }
+
+    private void notifyTileChanged(int x, int y) {
+        for (CollisionListener listener : collisionListeners) {
+            listener.collisionTileChanged(x, y);
+        }
+    }
+
+    private void notifyTilesReplaced() {
+        for (CollisionListener listener : collisionListeners) {
+            listener.collisionTilesReplaced();
         }
     }
 
@@ -143,20 +236,21 @@ public class Environment {
     }
 
     public void ensureBorders() {
-        if (collisionTiles == null)
-            return;
-        int rows = collisionTiles.length;
-        if (rows == 0)
+        if (collisionGrid.isEmpty())
             return;
-        int cols = collisionTiles[0].length;
+        int rows = collisionGrid.getRows();
+        int cols = collisionGrid.getCols();
 
         for (int x = 0; x < cols; x++) {
-            collisionTiles[0][x] = 1;
-            collisionTiles[rows - 1][x] = 1;
+            collisionGrid.set(x, 0, true);
+            collisionGrid.set(x, rows - 1, true);
         }
         for (int y = 0; y < rows; y++) {
-            collisionTiles[y][0] = 1;
-            collisionTiles[y][cols - 1] = 1;
+            collisionGrid.set(0, y, true);
+            collisionGrid.set(cols - 1, y, true);
         }
+        clearanceMap.rebuild(collisionGrid);
+        collisionVersion++;
+        notifyTilesReplaced();
     }
 }
@@ -0,0 +1,158 @@
+package world;
+
+import java.util.Arrays;
+import java.util.List;
+import entities.Zombie;
+import utils.CollisionGrid;
+import utils.IndexedMinHeap;
+
+public class FlowField implements NavigationStrategy {
+    private static final int[][] DIRECTIONS = {
+            { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 },
+            { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 }
+    };
+    private static final float STRAIGHT_COST = 1.0f;
+    private static final float DIAGONAL_COST = 1.414f;
+
+    private int cols;
+    private int rows;
+    private float[] distance;
+    private int[] next;
+    private int goalIndex;
+    private int gridVersion;
+    private CollisionGrid grid;
+    private IndexedMinHeap openSet;
+    private int rebuildCount;
+
+    public FlowField() {
+        this.distance = new float[0];
+        this.next = new int[0];
+        this.goalIndex = -1;
+        this.openSet = new IndexedMinHeap(0);
+    }
+
+    public void update(int goalX, int goalY, Environment environment) {
+        CollisionGrid collisionMap = environment.getCollisionGrid();
+        if (collisionMap == null || collisionMap.isEmpty())
+            return;
+
+        int mapHeight = collisionMap.getRows();
+        int mapWidth = collisionMap.getCols();
+        goalX = Math.max(0, Math.min(goalX, mapWidth - 1));
+        goalY = Math.max(0, Math.min(goalY, mapHeight - 1));
+        int goal = goalY * mapWidth + goalX;
+
+        if (goal == goalIndex && collisionMap == grid && environment.getCollisionVersion() == gridVersion
+                && mapWidth == cols && mapHeight == rows)
+            return;
+
+        rebuild(goal, collisionMap);
+        grid = collisionMap;
+        gridVersion = environment.getCollisionVersion();
+    }
+
+    @Override
+    public void prepare(WorldSnapshot world, List<Zombie> zombies, Environment environment) {
+        int tileSize = environment.getTileSize();
+        update((int) (world.getPlayerX() / tileSize), (int) (world.getPlayerY() / tileSize), environment);
+    }
+
+    @Override
+    public boolean steer(Zombie zombie, WorldSnapshot world, Environment environment, float dt) {
+        int tileSize = environment.getTileSize();
+        int nextTile = getNextTile((int) (zombie.getX() / tileSize), (int) (zombie.getY() / tileSize));
+        if (nextTile < 0)
+            return false;
+        float nextX = (nextTile % cols) * tileSize + tileSize / 2;
+        float nextY = (nextTile / cols) * tileSize + tileSize / 2;
+        return zombie.steerTowards(nextX, nextY, environment, dt);
+    }
+
+    @Override
+    public void replan(Zombie zombie, int startX, int startY, int goalX, int goalY, Environment environment) {
+    }
+
+    @Override
+    public boolean isParallelSafe() {
+        return true;
+    }
+
+    public void invalidate() {
+        goalIndex = -1;
+        grid = null;
+    }
+
+    private void rebuild(int goal, CollisionGrid collisionMap) {
+        rows = collisionMap.getRows();
+        cols = collisionMap.getCols();
+        int tileCount = rows * cols;
+        if (distance.length < tileCount) {
+            distance = new float[tileCount];
+            next = new int[tileCount];
+        }
+        openSet.ensureCapacity(tileCount);
+        Arrays.fill(distance, 0, tileCount, Float.MAX_VALUE);
+        Arrays.fill(next, 0, tileCount, -1);
+        goalIndex = goal;
+        rebuildCount++;
+
+        if (collisionMap.isBlocked(goal % cols, goal / cols))
+            return;
+
+        openSet.clear();
+        distance[goal] = 0;
+        next[goal] = goal;
+        openSet.push(goal, 0, 0);
+
+        while (!openSet.isEmpty()) {
+            int current = openSet.pop();
+            int currentX = current % cols;
+            int currentY = current / cols;
+            float currentDistance = distance[current];
+
+            for (int i = 0; i < DIRECTIONS.length; i++) {
+                int newX = currentX + DIRECTIONS[i][0];
+                int newY = currentY + DIRECTIONS[i][1];
+
+                if (!collisionMap.isWalkable(newX, newY))
+                    continue;
+
+                int neighbor = newY * cols + newX;
+                float newDistance = currentDistance + ((i < 4) ? STRAIGHT_COST : DIAGONAL_COST);
+                if (newDistance < distance[neighbor]) {
+                    distance[neighbor] = newDistance;
+                    next[neighbor] = current;
+                    openSet.push(neighbor, newDistance, 0);
+                }
+            }
+        }
+    }
+
+    public int getNextTile(int tileX, int tileY) {
+        if (tileX < 0 || tileX >= cols || tileY < 0 || tileY >= rows)
+            return -1;
+        return next[tileY * cols + tileX];
+    }
+
+    public float getDistance(int tileX, int tileY) {
+        if (tileX < 0 || tileX >= cols || tileY < 0 || tileY >= rows)
+            return Float.MAX_VALUE;
+        return distance[tileY * cols + tileX];
+    }
+
+    public int getGoalIndex() {
+        return goalIndex;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+}
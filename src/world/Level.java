@@ -1,35 +1,99 @@
 package world;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import entities.Player;
 import entities.Zombie;
 import entities.Boss;
 import utils.Pathfinder;
-import utils.Rectangle;
+import utils.FrameProfiler;
+import utils.FlightEvents;
 import combat.Projectile;
+import combat.ProjectilePool;
 
 public class Level {
+    public enum NavigationMode {
+        FLOW_FIELD, PATHFINDER, HIERARCHICAL, ASYNC_PATHFINDER, SCHEDULED_PATHFINDER, INCREMENTAL
+    }
+
+    private static final int HIERARCHICAL_CLUSTER_SIZE = 10;
+    private static final int PATH_CACHE_CAPACITY = 256;
+    private static final int REPLAN_NODE_BUDGET = 2000;
+    private static final float ZOMBIE_CELL_SIZE = 64;
+    private static final int ZOMBIE_STORE_CAPACITY = 256;
+    private static final int PROJECTILE_POOL_CAPACITY = 4096;
+    private static final int AI_CHUNK_SIZE = 64;
+    private static final float AI_NEAR_RADIUS = 300;
+    private static final int AI_MID_INTERVAL = 4;
+    private static final int SEPARATION_NEIGHBOUR_CAP = 6;
+    private static final float SEPARATION_STRENGTH = 120;
+    private static final float SPAWN_EXCLUSION_RADIUS = 200;
+    private static final int BOSS_FOOTPRINT = 4;
+    private static final int BOSS_SPAWN_ATTEMPTS = 64;
+
     private int id;
     private Environment environment;
     private TileMap tileMap;
     private Player player;
+    private ZombieStore zombieStore;
     private List<Zombie> zombies;
-    private Pathfinder pathfinder;
+    private Pathfinder.Mode pathfinderMode;
+    private NavigationStrategy navigation;
+    private PathNavigation.Direct directNavigation;
+    private SpatialHash<Zombie> zombieIndex;
+    private CrowdSeparation crowdSeparation;
+    private ZombieAiPhase aiPhase;
+    private AiLodScheduler aiLod;
+    private FrameProfiler profiler;
+    private long tick;
+    private Random random;
+    private SpawnSampler spawnSampler;
+    private NavigationMode navigationMode;
+    private Environment.CollisionListener collisionListener;
     private float zombieSpawnTimer;
     private float zombieSpawnInterval;
     private int zombiesSpawned;
     private int zombiesRequired;
+    private int spawnFailures;
+    private boolean spawnFailureLogged;
     private boolean levelComplete;
     private int wave;
-    private List<Projectile> projectiles = new ArrayList<>();
+    private ProjectilePool projectilePool = new ProjectilePool(PROJECTILE_POOL_CAPACITY);
 
     public Level(int id, Environment environment, Player player) {
         this.id = id;
         this.environment = environment;
         this.player = player;
-        this.zombies = new ArrayList<>();
-        this.pathfinder = new Pathfinder();
+        this.zombieStore = new ZombieStore(ZOMBIE_STORE_CAPACITY);
+        this.zombies = zombieStore.asList();
+        this.pathfinderMode = Pathfinder.Mode.JUMP_POINT;
+        this.zombieIndex = new SpatialHash<>(environment.getWidth(), environment.getHeight(), ZOMBIE_CELL_SIZE);
+        zombieIndex.rebuild(zombies);
+        this.crowdSeparation = new CrowdSeparation(SEPARATION_NEIGHBOUR_CAP, SEPARATION_STRENGTH);
+        this.aiPhase = new ZombieAiPhase(ForkJoinPool.commonPool(), AI_CHUNK_SIZE);
+        this.aiLod = new AiLodScheduler(AI_NEAR_RADIUS, AI_MID_INTERVAL);
+        this.profiler = new FrameProfiler();
+        this.random = new Random();
+        this.spawnSampler = new SpawnSampler(random);
+        spawnSampler.rebuild(environment.getCollisionGrid(), environment.getTileSize());
+        this.navigationMode = NavigationMode.FLOW_FIELD;
+        this.navigation = createNavigation(navigationMode);
+        this.collisionListener = new Environment.CollisionListener() {
+            @Override
+            public void collisionTileChanged(int x, int y) {
+                boolean blocked = !Level.this.environment.isTileWalkable(x, y);
+                navigation.tileChanged(zombies, Level.this.environment, x, y, blocked);
+                spawnSampler.tileChanged(x, y, blocked);
+            }
+
+            @Override
+            public void collisionTilesReplaced() {
+                navigation.tilesReplaced(zombies);
+                spawnSampler.rebuild(Level.this.environment.getCollisionGrid(), Level.this.environment.getTileSize());
+            }
+        };
+        environment.addCollisionListener(collisionListener);
         this.zombieSpawnTimer = 0;
         this.zombieSpawnInterval = 2.0f;
         this.zombiesSpawned = 0;
@@ -50,31 +114,58 @@ public class Level {
         if (levelComplete)
             return;
 
+        FlightEvents.LevelUpdateEvent event = new FlightEvents.LevelUpdateEvent();
+        event.begin();
+        tick++;
+        player.storePreviousPosition();
+        zombieStore.storePreviousPositions();
         environment.update(dt);
         player.setEnvironment(environment);
         player.update(dt);
 
+        WorldSnapshot world = new WorldSnapshot(tick, player);
+        long start = profiler.begin();
+        navigation.prepare(world, zombies, environment);
+        profiler.end(FrameProfiler.Phase.NAVIGATION, start);
+
+        start = profiler.begin();
+        aiLod.schedule(zombieStore, world, dt);
+        aiPhase.run(zombieStore, world, environment);
+        zombieStore.applyAttackRequests(player);
+        profiler.end(FrameProfiler.Phase.AI, start);
+        countPathSearches();
+
+        start = profiler.begin();
+        crowdSeparation.apply(zombieStore, zombieIndex, player, environment, dt);
+        profiler.end(FrameProfiler.Phase.SEPARATION, start);
+
+        start = profiler.begin();
+        zombieStore.integrate(dt);
         for (int i = 0; i < zombies.size(); i++) {
-            Zombie zombie = zombies.get(i);
-            if (zombie.isAlive()) {
-                zombie.updateAI(player, environment, dt);
-            }
-            zombie.update(dt);
-            if (!zombie.isAlive() && zombie.isDeathAnimationFinished()) {
-                zombies.remove(i);
-                i--;
-            }
+            zombies.get(i).updateAnimation(dt);
         }
+        zombieStore.removeFinished();
+        profiler.end(FrameProfiler.Phase.MOVEMENT, start);
 
-        environment.checkCollisions(player, zombies);
+        start = profiler.begin();
+        zombieIndex.rebuild(zombies);
+        environment.checkCollisions(player, zombieStore, zombieIndex);
+        profiler.end(FrameProfiler.Phase.COLLISIONS, start);
+
+        start = profiler.begin();
         updateProjectiles(dt);
         checkProjectileCollisions();
+        profiler.end(FrameProfiler.Phase.PROJECTILES, start);
 
+        start = profiler.begin();
         zombieSpawnTimer -= dt;
         if (zombieSpawnTimer <= 0 && zombiesSpawned < zombiesRequired) {
             spawnZombie();
             zombieSpawnTimer = zombieSpawnInterval;
         }
+        profiler.end(FrameProfiler.Phase.SPAWNING, start);
+        profiler.set(FrameProfiler.Counter.ZOMBIES, zombies.size());
+        profiler.set(FrameProfiler.Counter.PROJECTILES, projectilePool.size());
 
         if (zombiesSpawned >= zombiesRequired && zombies.isEmpty()) {
             completeLevel();
@@ -85,31 +176,42 @@ public class Level {
                 gameOver();
             }
         }
+
+        if (event.shouldCommit()) {
+            event.tick = tick;
+            event.wave = wave;
+            event.zombies = zombies.size();
+            event.projectiles = projectilePool.size();
+            event.aiUpdates = aiPhase.getLastParallelCount() + aiPhase.getLastSequentialCount();
+            event.commit();
+        }
     }
 
     public void render(Object g) {
         environment.render(g);
-        for (Projectile p : projectiles)
-            p.render(g);
+        for (int i = 0; i < projectilePool.size(); i++)
+            projectilePool.get(i).render(g);
         player.render(g);
         for (Zombie zombie : zombies)
             zombie.render(g);
     }
 
     public void spawnZombie() {
-        float spawnX, spawnY;
-        boolean safeDistance = false;
-        int attempts = 0;
-
-        do {
-            spawnX = (float) (Math.random() * environment.getWidth());
-            spawnY = (float) (Math.random() * environment.getHeight());
-            float dist = (float) Math.sqrt(Math.pow(spawnX - player.getX(), 2) + Math.pow(spawnY - player.getY(), 2));
-            if (environment.isWalkable(spawnX, spawnY) && dist > 200) {
-                safeDistance = true;
+        spawnSampler.exclude(player.getX(), player.getY(), SPAWN_EXCLUSION_RADIUS);
+        int tile = (wave == 5)
+                ? spawnSampler.sample(environment.getClearanceMap(), BOSS_FOOTPRINT, BOSS_SPAWN_ATTEMPTS)
+                : spawnSampler.sample();
+        if (tile < 0) {
+            spawnFailures++;
+            profiler.add(FrameProfiler.Counter.SPAWN_FAILURES, 1);
+            if (!spawnFailureLogged) {
+                System.err.println("No walkable spawn tile outside the player's exclusion radius in wave " + wave);
+                spawnFailureLogged = true;
             }
-            attempts++;
-        } while (!safeDistance && attempts < 100);
+            return;
+        }
+        float spawnX = spawnSampler.getTileX(tile) * environment.getTileSize();
+        float spawnY = spawnSampler.getTileY(tile) * environment.getTileSize();
 
         Zombie zombie;
         if (wave == 5) {
@@ -121,7 +223,9 @@ public class Level {
             zombie = new Zombie(spawnX, spawnY, 32, 32, hp, speed, damage);
         }
 
-        zombies.add(zombie);
+        configureNavigation(zombie);
+        zombieStore.add(zombie);
+        zombieIndex.insert(zombies.size() - 1);
         zombiesSpawned++;
     }
 
@@ -129,6 +233,7 @@ public class Level {
         levelComplete = true;
         wave++;
         zombiesSpawned = 0;
+        spawnFailureLogged = false;
         zombieSpawnTimer = 0;
         if (wave == 5) {
             zombiesRequired = 1;
@@ -158,7 +263,13 @@ public class Level {
     }
 
     public void setEnvironment(Environment environment) {
+        this.environment.removeCollisionListener(collisionListener);
         this.environment = environment;
+        environment.addCollisionListener(collisionListener);
+        zombieIndex.resize(environment.getWidth(), environment.getHeight());
+        zombieIndex.rebuild(zombies);
+        navigation.tilesReplaced(zombies);
+        spawnSampler.rebuild(environment.getCollisionGrid(), environment.getTileSize());
     }
 
     public Player getPlayer() {
@@ -174,49 +285,177 @@ public class Level {
     }
 
     public void addZombie(Zombie zombie) {
-        zombies.add(zombie);
+        configureNavigation(zombie);
+        zombieStore.add(zombie);
+        zombieIndex.insert(zombies.size() - 1);
     }
 
     public void removeZombie(Zombie zombie) {
-        zombies.remove(zombie);
+        zombieStore.remove(zombie);
+        zombieIndex.rebuild(zombies);
     }
 
-    public void addProjectile(Projectile p) {
-        projectiles.add(p);
+    public ZombieStore getZombieStore() {
+        return zombieStore;
+    }
+
+    public SpatialHash<Zombie> getZombieIndex() {
+        return zombieIndex;
+    }
+
+    public SpawnSampler getSpawnSampler() {
+        return spawnSampler;
+    }
+
+    public void setRandomSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    public ZombieAiPhase getAiPhase() {
+        return aiPhase;
+    }
+
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public AiLodScheduler getAiLod() {
+        return aiLod;
+    }
+
+    public void setParallelAi(boolean parallel) {
+        aiPhase.setParallel(parallel);
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public CrowdSeparation getCrowdSeparation() {
+        return crowdSeparation;
+    }
+
+    public Pathfinder.Mode getPathfinderMode() {
+        return pathfinderMode;
+    }
+
+    public void setPathfinderMode(Pathfinder.Mode mode) {
+        this.pathfinderMode = mode;
+        navigation.setPathfinderMode(mode);
+        if (directNavigation != null)
+            directNavigation.setPathfinderMode(mode);
+    }
+
+    public NavigationMode getNavigationMode() {
+        return navigationMode;
+    }
+
+    public void setNavigationMode(NavigationMode mode) {
+        if (mode == navigationMode)
+            return;
+        navigation.release(zombies);
+        this.navigationMode = mode;
+        this.navigation = createNavigation(mode);
+        for (Zombie zombie : zombies) {
+            configureNavigation(zombie);
+        }
+    }
+
+    public NavigationStrategy getNavigation() {
+        return navigation;
+    }
+
+    private NavigationStrategy createNavigation(NavigationMode mode) {
+        NavigationStrategy strategy;
+        switch (mode) {
+            case FLOW_FIELD:
+                strategy = new FlowField();
+                break;
+            case HIERARCHICAL:
+                strategy = new PathNavigation.Hierarchical(HIERARCHICAL_CLUSTER_SIZE);
+                break;
+            case ASYNC_PATHFINDER:
+                strategy = new PathRequestService();
+                break;
+            case SCHEDULED_PATHFINDER:
+                strategy = new ReplanScheduler(REPLAN_NODE_BUDGET);
+                break;
+            case INCREMENTAL:
+                strategy = new PathNavigation.Incremental();
+                break;
+            default:
+                strategy = new PathNavigation.Cached(PATH_CACHE_CAPACITY);
+                break;
+        }
+        strategy.setPathfinderMode(pathfinderMode);
+        return strategy;
+    }
+
+    private PathNavigation.Direct getDirectNavigation() {
+        if (directNavigation == null) {
+            directNavigation = new PathNavigation.Direct();
+            directNavigation.setPathfinderMode(pathfinderMode);
+        }
+        return directNavigation;
+    }
+
+    private void configureNavigation(Zombie zombie) {
+        zombie.setNavigation(zombie.getFootprint() > 1 ? getDirectNavigation() : navigation);
+    }
+
+    public Projectile launchProjectile(float x, float y, float dx, float dy, float speed, int damage,
+            float maxDistance) {
+        return projectilePool.launch(x, y, dx, dy, speed, damage, maxDistance);
     }
 
     public List<Projectile> getProjectiles() {
-        return projectiles;
+        return projectilePool.asList();
+    }
+
+    public ProjectilePool getProjectilePool() {
+        return projectilePool;
+    }
+
+    private void countPathSearches() {
+        if (!profiler.isEnabled())
+            return;
+        navigation.reportSearches(profiler);
+        if (directNavigation != null)
+            directNavigation.reportSearches(profiler);
+        profiler.add(FrameProfiler.Counter.AI_UPDATES, aiPhase.getLastParallelCount() + aiPhase.getLastSequentialCount());
     }
 
     private void updateProjectiles(float dt) {
-        for (int i = 0; i < projectiles.size(); i++) {
-            Projectile p = projectiles.get(i);
+        for (int i = 0; i < projectilePool.size(); i++) {
+            Projectile p = projectilePool.get(i);
             p.update(dt);
             if (!environment.isWalkable(p.getX(), p.getY())) {
                 p.setActive(false);
             }
             if (!p.isActive()) {
-                projectiles.remove(i);
+                projectilePool.release(i);
                 i--;
             }
         }
     }
 
     private void checkProjectileCollisions() {
-        for (int i = 0; i < projectiles.size(); i++) {
-            Projectile p = projectiles.get(i);
+        for (int i = 0; i < projectilePool.size(); i++) {
+            Projectile p = projectilePool.get(i);
             if (!p.isActive())
                 continue;
-            for (Zombie z : zombies) {
-                if (z.isAlive() && z.getBounds() instanceof Rectangle && p.getBounds() instanceof Rectangle) {
-                    Rectangle pRect = (Rectangle) p.getBounds();
-                    Rectangle zRect = (Rectangle) z.getBounds();
-                    if (pRect.intersects(zRect)) {
-                        z.takeDamage(p.getDamage());
-                        p.setActive(false);
-                        break;
-                    }
+            int hits = zombieIndex.querySegment(p.getPreviousX(), p.getPreviousY(), p.getX(), p.getY(),
+                    p.getWidth(), p.getHeight());
+            for (int h = 0; h < hits; h++) {
+                Zombie z = zombieIndex.getResult(h);
+                if (z.isAlive()) {
+                    z.takeDamage(p.getDamage());
+                    p.setActive(false);
+                    break;
                 }
             }
         }
@@ -238,7 +477,34 @@ public class Level {
         return zombiesRequired;
     }
 
+    public int getSpawnFailures() {
+        return spawnFailures;
+    }
+
     public int getZombiesRemaining() {
         return zombies.size();
     }
+
+    public long getStateChecksum() {
+        long hash = tick;
+        hash = hash * 31 + wave;
+        hash = hash * 31 + zombiesSpawned;
+        hash = hash * 31 + Float.floatToIntBits(zombieSpawnTimer);
+        hash = hash * 31 + Float.floatToIntBits(player.getX());
+        hash = hash * 31 + Float.floatToIntBits(player.getY());
+        hash = hash * 31 + player.getHp();
+        hash = hash * 31 + player.getLives();
+        for (int i = 0; i < zombies.size(); i++) {
+            Zombie zombie = zombies.get(i);
+            hash = hash * 31 + Float.floatToIntBits(zombie.getX());
+            hash = hash * 31 + Float.floatToIntBits(zombie.getY());
+            hash = hash * 31 + zombie.getHp();
+        }
+        for (int i = 0; i < projectilePool.size(); i++) {
+            Projectile projectile = projectilePool.get(i);
+            hash = hash * 31 + Float.floatToIntBits(projectile.getX());
+            hash = hash * 31 + Float.floatToIntBits(projectile.getY());
+        }
+        return hash;
+    }
 }
@@ -0,0 +1,32 @@
+package world;
+
+import java.util.List;
+import entities.Zombie;
+import utils.FrameProfiler;
+import utils.Pathfinder;
+
+public interface NavigationStrategy {
+    boolean steer(Zombie zombie, WorldSnapshot world, Environment environment, float dt);
+
+    void replan(Zombie zombie, int startX, int startY, int goalX, int goalY, Environment environment);
+
+    boolean isParallelSafe();
+
+    default void prepare(WorldSnapshot world, List<Zombie> zombies, Environment environment) {
+    }
+
+    default void tileChanged(List<Zombie> zombies, Environment environment, int x, int y, boolean blocked) {
+    }
+
+    default void tilesReplaced(List<Zombie> zombies) {
+    }
+
+    default void setPathfinderMode(Pathfinder.Mode mode) {
+    }
+
+    default void release(List<Zombie> zombies) {
+    }
+
+    default void reportSearches(FrameProfiler profiler) {
+    }
+}
@@ -0,0 +1,199 @@
+package world;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import entities.Zombie;
+import utils.ClearanceMap;
+import utils.FrameProfiler;
+import utils.HierarchicalPathfinder;
+import utils.IncrementalPathfinder;
+import utils.PathCache;
+import utils.Pathfinder;
+
+public abstract class PathNavigation implements NavigationStrategy {
+    @Override
+    public boolean steer(Zombie zombie, WorldSnapshot world, Environment environment, float dt) {
+        return zombie.followPath(world, environment, dt);
+    }
+
+    @Override
+    public boolean isParallelSafe() {
+        return false;
+    }
+
+    protected static void report(Pathfinder pathfinder, FrameProfiler profiler) {
+        profiler.add(FrameProfiler.Counter.PATH_SEARCHES, pathfinder.getSearchCount());
+        profiler.add(FrameProfiler.Counter.NODES_EXPANDED, pathfinder.getTotalNodesExpanded());
+        pathfinder.resetStatistics();
+    }
+
+    public static class Direct extends PathNavigation {
+        private final List<Pathfinder> pathfinders;
+        private final ThreadLocal<Pathfinder> localPathfinder;
+        private volatile Pathfinder.Mode mode;
+
+        public Direct() {
+            this.pathfinders = new ArrayList<>();
+            this.localPathfinder = ThreadLocal.withInitial(this::createPathfinder);
+            this.mode = Pathfinder.Mode.JUMP_POINT;
+        }
+
+        private Pathfinder createPathfinder() {
+            Pathfinder pathfinder = new Pathfinder(mode);
+            synchronized (pathfinders) {
+                pathfinders.add(pathfinder);
+            }
+            return pathfinder;
+        }
+
+        @Override
+        public void replan(Zombie zombie, int startX, int startY, int goalX, int goalY, Environment environment) {
+            Pathfinder pathfinder = localPathfinder.get();
+            pathfinder.setMode(mode);
+            int footprint = zombie.getFootprint();
+            if (footprint == 1) {
+                pathfinder.findPath(startX, startY, goalX, goalY, environment.getCollisionGrid());
+                zombie.applyPath(pathfinder);
+                return;
+            }
+
+            ClearanceMap clearance = environment.getClearanceMap();
+            int placement = clearance.findPlacement(goalX, goalY, footprint);
+            if (placement < 0) {
+                zombie.applyPath(Collections.emptyList());
+                return;
+            }
+            pathfinder.findPath(startX, startY, placement % clearance.getCols(), placement / clearance.getCols(),
+                    clearance, footprint);
+            zombie.applyPath(pathfinder);
+        }
+
+        @Override
+        public boolean isParallelSafe() {
+            return true;
+        }
+
+        @Override
+        public void setPathfinderMode(Pathfinder.Mode mode) {
+            this.mode = mode;
+        }
+
+        @Override
+        public void reportSearches(FrameProfiler profiler) {
+            synchronized (pathfinders) {
+                for (Pathfinder pathfinder : pathfinders) {
+                    report(pathfinder, profiler);
+                }
+            }
+        }
+    }
+
+    public static class Cached extends PathNavigation {
+        private final PathCache pathCache;
+
+        public Cached(int capacity) {
+            this.pathCache = new PathCache(capacity, new Pathfinder());
+        }
+
+        @Override
+        public void replan(Zombie zombie, int startX, int startY, int goalX, int goalY, Environment environment) {
+            zombie.applyPath(pathCache.findPath(new Point(startX, startY), new Point(goalX, goalY),
+                    environment.getCollisionGrid(), environment.getCollisionVersion()));
+        }
+
+        @Override
+        public void tileChanged(List<Zombie> zombies, Environment environment, int x, int y, boolean blocked) {
+            pathCache.invalidateTile(x, y, blocked, environment.getCollisionVersion());
+        }
+
+        @Override
+        public void tilesReplaced(List<Zombie> zombies) {
+            pathCache.clear();
+        }
+
+        @Override
+        public void setPathfinderMode(Pathfinder.Mode mode) {
+            pathCache.getPathfinder().setMode(mode);
+        }
+
+        @Override
+        public void reportSearches(FrameProfiler profiler) {
+            report(pathCache.getPathfinder(), profiler);
+        }
+
+        public PathCache getPathCache() {
+            return pathCache;
+        }
+    }
+
+    public static class Hierarchical extends PathNavigation {
+        private final HierarchicalPathfinder pathfinder;
+
+        public Hierarchical(int clusterSize) {
+            this.pathfinder = new HierarchicalPathfinder(clusterSize);
+        }
+
+        @Override
+        public void replan(Zombie zombie, int startX, int startY, int goalX, int goalY, Environment environment) {
+            zombie.applyPath(pathfinder.findPath(new Point(startX, startY), new Point(goalX, goalY),
+                    environment.getCollisionGrid()));
+        }
+
+        @Override
+        public void tileChanged(List<Zombie> zombies, Environment environment, int x, int y, boolean blocked) {
+            pathfinder.updateTile(x, y);
+        }
+
+        @Override
+        public void tilesReplaced(List<Zombie> zombies) {
+            pathfinder.invalidate();
+        }
+
+        public HierarchicalPathfinder getPathfinder() {
+            return pathfinder;
+        }
+    }
+
+    public static class Incremental extends PathNavigation {
+        @Override
+        public void replan(Zombie zombie, int startX, int startY, int goalX, int goalY, Environment environment) {
+            IncrementalPathfinder pathfinder = searchOf(zombie);
+            if (pathfinder == null) {
+                pathfinder = new IncrementalPathfinder();
+                zombie.setNavigationState(pathfinder);
+            }
+            pathfinder.findPath(startX, startY, goalX, goalY, environment.getCollisionGrid());
+            zombie.applyPath(pathfinder);
+        }
+
+        @Override
+        public boolean isParallelSafe() {
+            return true;
+        }
+
+        @Override
+        public void tileChanged(List<Zombie> zombies, Environment environment, int x, int y, boolean blocked) {
+            for (int i = 0; i < zombies.size(); i++) {
+                IncrementalPathfinder pathfinder = searchOf(zombies.get(i));
+                if (pathfinder != null)
+                    pathfinder.tileChanged(x, y, blocked);
+            }
+        }
+
+        @Override
+        public void tilesReplaced(List<Zombie> zombies) {
+            for (int i = 0; i < zombies.size(); i++) {
+                IncrementalPathfinder pathfinder = searchOf(zombies.get(i));
+                if (pathfinder != null)
+                    pathfinder.invalidate();
+            }
+        }
+
+        private IncrementalPathfinder searchOf(Zombie zombie) {
+            Object state = zombie.getNavigationState();
+            return (state instanceof IncrementalPathfinder) ? (IncrementalPathfinder) state : null;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package world;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import entities.Zombie;
+import utils.CollisionGrid;
+import utils.Pathfinder;
+
+public class PathRequestService extends PathNavigation {
+    private static final int DEFAULT_LATENCY_TICKS = 2;
+
+    private static class PathRequest {
+        final Zombie zombie;
+        final int cols;
+        final long deadline;
+        final Future<int[]> result;
+
+        PathRequest(Zombie zombie, int cols, long deadline, Future<int[]> result) {
+            this.zombie = zombie;
+            this.cols = cols;
+            this.deadline = deadline;
+            this.result = result;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final ThreadLocal<Pathfinder> pathfinders;
+    private final List<PathRequest> pending;
+    private CollisionGrid snapshot;
+    private int snapshotVersion;
+    private CollisionGrid snapshotSource;
+    private Pathfinder.Mode mode;
+    private int latencyTicks;
+    private long tick;
+    private long submitted;
+    private long delivered;
+    private long lateResults;
+
+    public PathRequestService() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public PathRequestService(ForkJoinPool pool) {
+        this.pool = pool;
+        this.pending = new ArrayList<>();
+        this.mode = Pathfinder.Mode.JUMP_POINT;
+        this.latencyTicks = DEFAULT_LATENCY_TICKS;
+        this.pathfinders = ThreadLocal.withInitial(Pathfinder::new);
+    }
+
+    @Override
+    public void replan(Zombie zombie, int startX, int startY, int goalX, int goalY, Environment environment) {
+        if (submit(zombie, startX, startY, goalX, goalY, environment))
+            zombie.setPathRequestPending(true);
+    }
+
+    @Override
+    public void prepare(WorldSnapshot world, List<Zombie> zombies, Environment environment) {
+        deliverResults(world.getTick());
+    }
+
+    @Override
+    public void release(List<Zombie> zombies) {
+        cancelAll();
+    }
+
+    @Override
+    public void setPathfinderMode(Pathfinder.Mode mode) {
+        setMode(mode);
+    }
+
+    public boolean submit(Zombie zombie, int startX, int startY, int goalX, int goalY, Environment environment) {
+        CollisionGrid grid = snapshot(environment);
+        if (grid == null || grid.isEmpty())
+            return false;
+
+        final Pathfinder.Mode searchMode = mode;
+        Future<int[]> result = pool.submit(() -> {
+            Pathfinder pathfinder = pathfinders.get();
+            pathfinder.setMode(searchMode);
+            int length = pathfinder.findPath(startX, startY, goalX, goalY, grid);
+            int[] tiles = new int[length];
+            for (int i = 0; i < length; i++) {
+                tiles[i] = pathfinder.getPathIndex(i);
+            }
+            return tiles;
+        });
+        pending.add(new PathRequest(zombie, grid.getCols(), tick + latencyTicks, result));
+        submitted++;
+        return true;
+    }
+
+    public void deliverResults(long tick) {
+        this.tick = tick;
+        int kept = 0;
+        for (int i = 0; i < pending.size(); i++) {
+            PathRequest request = pending.get(i);
+            if (!isDeliverable(request) || !deliver(request))
+                pending.set(kept++, request);
+        }
+        pending.subList(kept, pending.size()).clear();
+    }
+
+    private boolean isDeliverable(PathRequest request) {
+        if (request.deadline > tick)
+            return false;
+        if (!request.result.isDone())
+            lateResults++;
+        return true;
+    }
+
+    private boolean deliver(PathRequest request) {
+        int[] tiles;
+        try {
+            tiles = request.result.get();
+        } catch (InterruptedException e) {
+            request.result.cancel(false);
+            request.zombie.setPathRequestPending(false);
+            Thread.currentThread().interrupt();
+            return true;
+        } catch (ExecutionException e) {
+            System.err.println("Path request failed: " + e.getCause());
+            request.zombie.setPathRequestPending(false);
+            return true;
+        }
+
+        request.zombie.applyPath(tiles, request.cols);
+        delivered++;
+        return true;
+    }
+
+    public void cancelAll() {
+        for (PathRequest request : pending) {
+            request.result.cancel(false);
+            request.zombie.setPathRequestPending(false);
+        }
+        pending.clear();
+    }
+
+    private CollisionGrid snapshot(Environment environment) {
+        CollisionGrid source = environment.getCollisionGrid();
+        if (source == null)
+            return null;
+        if (snapshot == null || source != snapshotSource || environment.getCollisionVersion() != snapshotVersion) {
+            snapshot = source.snapshot();
+            snapshotSource = source;
+            snapshotVersion = environment.getCollisionVersion();
+        }
+        return snapshot;
+    }
+
+    public Pathfinder.Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Pathfinder.Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getLatencyTicks() {
+        return latencyTicks;
+    }
+
+    public void setLatencyTicks(int latencyTicks) {
+        this.latencyTicks = Math.max(1, latencyTicks);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public long getLateResults() {
+        return lateResults;
+    }
+}
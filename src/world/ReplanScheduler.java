@@ -0,0 +1,216 @@
+package world;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import entities.Zombie;
+import utils.CollisionGrid;
+import utils.FrameProfiler;
+import utils.Pathfinder;
+
+public class ReplanScheduler extends PathNavigation {
+    private static final float EMPTY_PATH_BONUS = 1.0f;
+
+    private int nodeBudgetPerFrame;
+    private float minReplanInterval;
+    private float distanceWeight;
+    private final List<Zombie> candidates;
+    private final Pathfinder pathfinder;
+    private float[] priorities;
+    private Zombie activeZombie;
+    private int activeVersion;
+
+    private int lastFrameExpansions;
+    private int lastFrameReplans;
+    private long suspendedSearches;
+    private long completedSearches;
+
+    public ReplanScheduler(int nodeBudgetPerFrame) {
+        this.nodeBudgetPerFrame = Math.max(1, nodeBudgetPerFrame);
+        this.minReplanInterval = 0.5f;
+        this.distanceWeight = 0.1f;
+        this.candidates = new ArrayList<>();
+        this.pathfinder = new Pathfinder();
+        this.priorities = new float[16];
+    }
+
+    @Override
+    public void replan(Zombie zombie, int startX, int startY, int goalX, int goalY, Environment environment) {
+    }
+
+    @Override
+    public boolean isParallelSafe() {
+        return true;
+    }
+
+    @Override
+    public void prepare(WorldSnapshot world, List<Zombie> zombies, Environment environment) {
+        update(zombies, world.getPlayerX(), world.getPlayerY(), environment);
+    }
+
+    @Override
+    public void release(List<Zombie> zombies) {
+        reset();
+    }
+
+    @Override
+    public void setPathfinderMode(Pathfinder.Mode mode) {
+        pathfinder.setMode(mode);
+    }
+
+    @Override
+    public void reportSearches(FrameProfiler profiler) {
+        report(pathfinder, profiler);
+    }
+
+    public void update(List<Zombie> zombies, float playerX, float playerY, Environment environment) {
+        lastFrameExpansions = 0;
+        lastFrameReplans = 0;
+        CollisionGrid collisionMap = environment.getCollisionGrid();
+        if (collisionMap == null)
+            return;
+
+        int tileSize = environment.getTileSize();
+        int goalX = (int) (playerX / tileSize);
+        int goalY = (int) (playerY / tileSize);
+        int budget = nodeBudgetPerFrame;
+
+        if (activeZombie != null) {
+            if (!activeZombie.isAlive() || activeVersion != environment.getCollisionVersion()) {
+                pathfinder.cancelSearch();
+                activeZombie = null;
+            } else {
+                budget -= advance(budget);
+                if (pathfinder.getSearchStatus() == Pathfinder.SearchStatus.RUNNING)
+                    return;
+                finish(activeZombie);
+                activeZombie = null;
+            }
+        }
+
+        collectCandidates(zombies, playerX, playerY, tileSize);
+
+        while (budget > 0) {
+            int best = -1;
+            for (int i = 0; i < candidates.size(); i++) {
+                if (candidates.get(i) != null && (best < 0 || priorities[i] > priorities[best]))
+                    best = i;
+            }
+            if (best < 0)
+                break;
+
+            Zombie zombie = candidates.get(best);
+            candidates.set(best, null);
+            int startX = (int) (zombie.getX() / tileSize);
+            int startY = (int) (zombie.getY() / tileSize);
+            pathfinder.beginSearch(startX, startY, goalX, goalY, collisionMap);
+            budget -= advance(budget);
+
+            if (pathfinder.getSearchStatus() == Pathfinder.SearchStatus.RUNNING) {
+                activeZombie = zombie;
+                activeVersion = environment.getCollisionVersion();
+                suspendedSearches++;
+                break;
+            }
+            finish(zombie);
+        }
+        candidates.clear();
+    }
+
+    private void collectCandidates(List<Zombie> zombies, float playerX, float playerY, int tileSize) {
+        candidates.clear();
+        if (priorities.length < zombies.size()) {
+            priorities = new float[zombies.size() * 2];
+        }
+
+        for (Zombie zombie : zombies) {
+            if (!zombie.isAlive() || zombie.getNavigation() != this || zombie.isChasingDirectly()
+                    || zombie == activeZombie)
+                continue;
+
+            float dx = playerX - zombie.getX();
+            float dy = playerY - zombie.getY();
+            float distanceSquared = dx * dx + dy * dy;
+            float range = zombie.getDetectionRange();
+            if (distanceSquared >= range * range)
+                continue;
+
+            boolean hasPath = zombie.hasPath();
+            float age = zombie.getPathAge();
+            if (hasPath && age < minReplanInterval)
+                continue;
+
+            float distance = (float) Math.sqrt(distanceSquared) / tileSize;
+            priorities[candidates.size()] = (age + (hasPath ? 0 : EMPTY_PATH_BONUS)) / (1 + distance * distanceWeight);
+            candidates.add(zombie);
+        }
+    }
+
+    private int advance(int budget) {
+        int before = pathfinder.getLastNodesExpanded();
+        pathfinder.step(budget);
+        int spent = pathfinder.getLastNodesExpanded() - before;
+        lastFrameExpansions += spent;
+        return spent;
+    }
+
+    private void finish(Zombie zombie) {
+        if (pathfinder.getSearchStatus() == Pathfinder.SearchStatus.FOUND)
+            zombie.applyPath(pathfinder);
+        else
+            zombie.applyPath(Collections.emptyList());
+        lastFrameReplans++;
+        completedSearches++;
+    }
+
+    public void reset() {
+        if (activeZombie != null) {
+            pathfinder.cancelSearch();
+            activeZombie = null;
+        }
+    }
+
+    public int getNodeBudgetPerFrame() {
+        return nodeBudgetPerFrame;
+    }
+
+    public void setNodeBudgetPerFrame(int nodeBudgetPerFrame) {
+        this.nodeBudgetPerFrame = Math.max(1, nodeBudgetPerFrame);
+    }
+
+    public float getMinReplanInterval() {
+        return minReplanInterval;
+    }
+
+    public void setMinReplanInterval(float minReplanInterval) {
+        this.minReplanInterval = minReplanInterval;
+    }
+
+    public float getDistanceWeight() {
+        return distanceWeight;
+    }
+
+    public void setDistanceWeight(float distanceWeight) {
+        this.distanceWeight = distanceWeight;
+    }
+
+    public int getLastFrameExpansions() {
+        return lastFrameExpansions;
+    }
+
+    public int getLastFrameReplans() {
+        return lastFrameReplans;
+    }
+
+    public long getSuspendedSearches() {
+        return suspendedSearches;
+    }
+
+    public long getCompletedSearches() {
+        return completedSearches;
+    }
+
+    public boolean hasSuspendedSearch() {
+        return activeZombie != null;
+    }
+}
@@ -0,0 +1,311 @@
+package world;
+
+import java.util.Arrays;
+import java.util.List;
+import entities.Entity;
+
+public class SpatialHash<T extends Entity> {
+    private final float cellSize;
+    private int cols;
+    private int rows;
+    private int[] cellHead;
+    private int[] next;
+    private int[] prev;
+    private int[] cellOf;
+    private float[] entityX;
+    private float[] entityY;
+    private float[] entityWidth;
+    private float[] entityHeight;
+    private List<T> items;
+    private int count;
+    private float maxHalfWidth;
+    private float maxHalfHeight;
+    private int[] results;
+    private int resultCount;
+    private long candidatesTested;
+
+    public SpatialHash(float width, float height, float cellSize) {
+        this.cellSize = Math.max(1, cellSize);
+        this.next = new int[0];
+        this.prev = new int[0];
+        this.cellOf = new int[0];
+        this.entityX = new float[0];
+        this.entityY = new float[0];
+        this.entityWidth = new float[0];
+        this.entityHeight = new float[0];
+        this.results = new int[16];
+        resize(width, height);
+    }
+
+    public void resize(float width, float height) {
+        cols = Math.max(1, (int) Math.ceil(width / cellSize));
+        rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        cellHead = new int[cols * rows];
+        Arrays.fill(cellHead, -1);
+        count = 0;
+        items = null;
+    }
+
+    public void rebuild(List<T> entities) {
+        Arrays.fill(cellHead, -1);
+        items = entities;
+        count = entities.size();
+        maxHalfWidth = 0;
+        maxHalfHeight = 0;
+        if (next.length < count) {
+            int capacity = Math.max(count, next.length * 2);
+            next = new int[capacity];
+            prev = new int[capacity];
+            cellOf = new int[capacity];
+            entityX = new float[capacity];
+            entityY = new float[capacity];
+            entityWidth = new float[capacity];
+            entityHeight = new float[capacity];
+        }
+        if (results.length < count) {
+            results = new int[Math.max(count, results.length * 2)];
+        }
+        for (int i = 0; i < count; i++) {
+            link(i, cellFor(i, entities.get(i)));
+        }
+    }
+
+    public void insert(int index) {
+        if (items == null)
+            throw new IllegalStateException("Spatial hash must be rebuilt before inserting");
+        if (index != count || index >= items.size())
+            throw new IllegalArgumentException("Insert index " + index + " must be the next item " + count);
+        if (next.length <= index) {
+            next = Arrays.copyOf(next, Math.max(16, next.length * 2));
+            prev = Arrays.copyOf(prev, next.length);
+            cellOf = Arrays.copyOf(cellOf, next.length);
+            entityX = Arrays.copyOf(entityX, next.length);
+            entityY = Arrays.copyOf(entityY, next.length);
+            entityWidth = Arrays.copyOf(entityWidth, next.length);
+            entityHeight = Arrays.copyOf(entityHeight, next.length);
+        }
+        if (results.length <= index) {
+            results = Arrays.copyOf(results, Math.max(16, results.length * 2));
+        }
+        count++;
+        link(index, cellFor(index, items.get(index)));
+    }
+
+    public void refresh(int index) {
+        if (index < 0 || index >= count)
+            return;
+        int cell = cellFor(index, items.get(index));
+        if (cell == cellOf[index])
+            return;
+        unlink(index);
+        link(index, cell);
+    }
+
+    public int queryRect(float x, float y, float width, float height) {
+        return queryRect(x, y, width, height, Integer.MAX_VALUE);
+    }
+
+    public int queryRect(float x, float y, float width, float height, int limit) {
+        resultCount = 0;
+        if (count == 0)
+            return 0;
+
+        int firstCol = column(x - maxHalfWidth);
+        int lastCol = column(x + width + maxHalfWidth);
+        int firstRow = row(y - maxHalfHeight);
+        int lastRow = row(y + height + maxHalfHeight);
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstCol; c <= lastCol; c++) {
+                for (int i = cellHead[r * cols + c]; i != -1; i = next[i]) {
+                    candidatesTested++;
+                    if (entityX[i] < x + width && entityX[i] + entityWidth[i] > x
+                            && entityY[i] < y + height && entityY[i] + entityHeight[i] > y) {
+                        results[resultCount++] = i;
+                        if (resultCount >= limit)
+                            return resultCount;
+                    }
+                }
+            }
+        }
+        return resultCount;
+    }
+
+    public int queryRadius(float centerX, float centerY, float radius) {
+        resultCount = 0;
+        if (count == 0)
+            return 0;
+
+        int firstCol = column(centerX - radius);
+        int lastCol = column(centerX + radius + 2 * maxHalfWidth);
+        int firstRow = row(centerY - radius);
+        int lastRow = row(centerY + radius + 2 * maxHalfHeight);
+        float radiusSquared = radius * radius;
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstCol; c <= lastCol; c++) {
+                for (int i = cellHead[r * cols + c]; i != -1; i = next[i]) {
+                    candidatesTested++;
+                    float dx = entityX[i] - centerX;
+                    float dy = entityY[i] - centerY;
+                    if (dx * dx + dy * dy < radiusSquared)
+                        results[resultCount++] = i;
+                }
+            }
+        }
+        return resultCount;
+    }
+
+    public int querySegment(float fromX, float fromY, float toX, float toY, float width, float height) {
+        resultCount = 0;
+        if (count == 0)
+            return 0;
+
+        float dx = toX - fromX;
+        float dy = toY - fromY;
+        int firstRow = row(Math.min(fromY, toY) - maxHalfHeight);
+        int lastRow = row(Math.max(fromY, toY) + height + maxHalfHeight);
+        for (int r = firstRow; r <= lastRow; r++) {
+            float low = 0;
+            float high = 1;
+            if (dy != 0 && r != 0 && r != rows - 1) {
+                float enter = (r * cellSize - height - maxHalfHeight - fromY) / dy;
+                float exit = ((r + 1) * cellSize + maxHalfHeight - fromY) / dy;
+                low = Math.max(0, Math.min(enter, exit));
+                high = Math.min(1, Math.max(enter, exit));
+                if (low > high)
+                    continue;
+            }
+            float startX = fromX + dx * low;
+            float endX = fromX + dx * high;
+            int firstCol = column(Math.min(startX, endX) - maxHalfWidth);
+            int lastCol = column(Math.max(startX, endX) + width + maxHalfWidth);
+            for (int c = firstCol; c <= lastCol; c++) {
+                for (int i = cellHead[r * cols + c]; i != -1; i = next[i]) {
+                    candidatesTested++;
+                    if (sweepHits(i, fromX, fromY, dx, dy, width, height))
+                        results[resultCount++] = i;
+                }
+            }
+        }
+        return resultCount;
+    }
+
+    private boolean sweepHits(int index, float fromX, float fromY, float dx, float dy, float width,
+            float height) {
+        float minX = entityX[index] - width;
+        float maxX = entityX[index] + entityWidth[index];
+        float minY = entityY[index] - height;
+        float maxY = entityY[index] + entityHeight[index];
+        float low = 0;
+        float high = 1;
+
+        if (dx == 0) {
+            if (fromX <= minX || fromX >= maxX)
+                return false;
+        } else {
+            float enter = (minX - fromX) / dx;
+            float exit = (maxX - fromX) / dx;
+            low = Math.max(low, Math.min(enter, exit));
+            high = Math.min(high, Math.max(enter, exit));
+        }
+
+        if (dy == 0) {
+            if (fromY <= minY || fromY >= maxY)
+                return false;
+        } else {
+            float enter = (minY - fromY) / dy;
+            float exit = (maxY - fromY) / dy;
+            low = Math.max(low, Math.min(enter, exit));
+            high = Math.min(high, Math.max(enter, exit));
+        }
+        return low < high;
+    }
+
+    public T getResult(int i) {
+        return items.get(results[i]);
+    }
+
+    public int getResultIndex(int i) {
+        return results[i];
+    }
+
+    public float getResultX(int i) {
+        return entityX[results[i]];
+    }
+
+    public float getResultY(int i) {
+        return entityY[results[i]];
+    }
+
+    public float getResultWidth(int i) {
+        return entityWidth[results[i]];
+    }
+
+    public float getResultHeight(int i) {
+        return entityHeight[results[i]];
+    }
+
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    public long getCandidatesTested() {
+        return candidatesTested;
+    }
+
+    public void resetStatistics() {
+        candidatesTested = 0;
+    }
+
+    private int cellFor(int index, T entity) {
+        entityX[index] = entity.getX();
+        entityY[index] = entity.getY();
+        entityWidth[index] = entity.getWidth();
+        entityHeight[index] = entity.getHeight();
+        float halfWidth = entityWidth[index] * 0.5f;
+        float halfHeight = entityHeight[index] * 0.5f;
+        if (halfWidth > maxHalfWidth)
+            maxHalfWidth = halfWidth;
+        if (halfHeight > maxHalfHeight)
+            maxHalfHeight = halfHeight;
+        return row(entityY[index] + halfHeight) * cols + column(entityX[index] + halfWidth);
+    }
+
+    private void link(int index, int cell) {
+        int head = cellHead[cell];
+        next[index] = head;
+        prev[index] = -1;
+        if (head != -1)
+            prev[head] = index;
+        cellHead[cell] = index;
+        cellOf[index] = cell;
+    }
+
+    private void unlink(int index) {
+        int cell = cellOf[index];
+        if (prev[index] != -1) {
+            next[prev[index]] = next[index];
+        } else {
+            cellHead[cell] = next[index];
+        }
+        if (next[index] != -1)
+            prev[next[index]] = prev[index];
+    }
+
+    private int column(float x) {
+        int c = (int) Math.floor(x / cellSize);
+        return c < 0 ? 0 : (c >= cols ? cols - 1 : c);
+    }
+
+    private int row(float y) {
+        int r = (int) Math.floor(y / cellSize);
+        return r < 0 ? 0 : (r >= rows ? rows - 1 : r);
+    }
+}
@@ -0,0 +1,158 @@
+package world;
+
+import java.util.Random;
+import utils.ClearanceMap;
+import utils.CollisionGrid;
+
+public class SpawnSampler {
+    private static final float EXCLUSION_MARGIN = 1.5f;
+
+    private Random random;
+    private int cols;
+    private int rows;
+    private int tileSize;
+    private int[] tiles;
+    private int[] slotOf;
+    private int walkableCount;
+    private int excludedCount;
+    private int excludedTile;
+    private float excludedRadius;
+    private int rebuildCount;
+
+    public SpawnSampler(Random random) {
+        this.random = random;
+        this.tiles = new int[0];
+        this.slotOf = new int[0];
+        this.excludedTile = -1;
+    }
+
+    public void rebuild(CollisionGrid grid, int tileSize) {
+        this.cols = grid.getCols();
+        this.rows = grid.getRows();
+        this.tileSize = tileSize;
+        int tileCount = cols * rows;
+        if (tiles.length < tileCount) {
+            tiles = new int[tileCount];
+            slotOf = new int[tileCount];
+        }
+
+        walkableCount = 0;
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                int tile = y * cols + x;
+                if (grid.isWalkable(x, y)) {
+                    slotOf[tile] = walkableCount;
+                    tiles[walkableCount++] = tile;
+                } else {
+                    slotOf[tile] = -1;
+                }
+            }
+        }
+        clearExclusion();
+        rebuildCount++;
+    }
+
+    public void tileChanged(int x, int y, boolean blocked) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows)
+            return;
+
+        int tile = y * cols + x;
+        clearExclusion();
+        if (blocked && slotOf[tile] >= 0) {
+            int slot = slotOf[tile];
+            int last = tiles[--walkableCount];
+            tiles[slot] = last;
+            slotOf[last] = slot;
+            slotOf[tile] = -1;
+        } else if (!blocked && slotOf[tile] < 0) {
+            slotOf[tile] = walkableCount;
+            tiles[walkableCount++] = tile;
+        }
+    }
+
+    public void exclude(float centerX, float centerY, float radius) {
+        int tileX = Math.max(0, Math.min(cols - 1, (int) (centerX / tileSize)));
+        int tileY = Math.max(0, Math.min(rows - 1, (int) (centerY / tileSize)));
+        int centerTile = tileY * cols + tileX;
+        if (centerTile == excludedTile && radius == excludedRadius)
+            return;
+
+        clearExclusion();
+        excludedTile = centerTile;
+        excludedRadius = radius;
+
+        float reach = radius / tileSize + EXCLUSION_MARGIN;
+        int span = (int) Math.ceil(reach);
+        for (int y = Math.max(0, tileY - span); y <= Math.min(rows - 1, tileY + span); y++) {
+            for (int x = Math.max(0, tileX - span); x <= Math.min(cols - 1, tileX + span); x++) {
+                int dx = x - tileX;
+                int dy = y - tileY;
+                int tile = y * cols + x;
+                if (dx * dx + dy * dy > reach * reach || slotOf[tile] < 0)
+                    continue;
+                swap(slotOf[tile], walkableCount - 1 - excludedCount);
+                excludedCount++;
+            }
+        }
+    }
+
+    public void clearExclusion() {
+        excludedCount = 0;
+        excludedTile = -1;
+    }
+
+    public int sample() {
+        int available = walkableCount - excludedCount;
+        if (available <= 0)
+            return -1;
+        return tiles[random.nextInt(available)];
+    }
+
+    public int sample(ClearanceMap clearance, int size, int attempts) {
+        for (int i = 0; i < attempts; i++) {
+            int tile = sample();
+            if (tile < 0)
+                return -1;
+            if (clearance.fits(tile % cols, tile / cols, size))
+                return tile;
+        }
+        return -1;
+    }
+
+    private void swap(int a, int b) {
+        int tileA = tiles[a];
+        int tileB = tiles[b];
+        tiles[a] = tileB;
+        tiles[b] = tileA;
+        slotOf[tileB] = a;
+        slotOf[tileA] = b;
+    }
+
+    public int getTileX(int tile) {
+        return tile % cols;
+    }
+
+    public int getTileY(int tile) {
+        return tile / cols;
+    }
+
+    public int getWalkableCount() {
+        return walkableCount;
+    }
+
+    public int getAvailableCount() {
+        return walkableCount - excludedCount;
+    }
+
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+}
@@ -10,6 +10,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.imageio.ImageIO;
+import utils.CollisionGrid;
 
 public class TileMap {
     private int tileSize;
@@ -98,22 +99,22 @@ public class TileMap {
         }
     }
 
-    public int[][] getCollisionGrid() {
+    public CollisionGrid getCollisionGrid() {
+        return getCollisionGrid(cols, rows);
+    }
+
+    public CollisionGrid getCollisionGrid(int gridCols, int gridRows) {
+        CollisionGrid grid = new CollisionGrid(gridCols, gridRows);
         if (tiles == null)
-            return new int[0][0];
-        int[][] grid = new int[rows][cols];
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
+            return grid;
+        for (int r = 0; r < Math.min(rows, gridRows); r++) {
+            for (int c = 0; c < Math.min(cols, gridCols); c++) {
                 String name = tiles[r][c];
-                if (name == null) {
-                    grid[r][c] = 0;
+                if (name == null)
                     continue;
-                }
                 String lower = name.toLowerCase();
                 if (lower.equals("water") || lower.equals("lava"))
-                    grid[r][c] = 1;
-                else
-                    grid[r][c] = 0;
+                    grid.set(c, r, true);
             }
         }
         return grid;
@@ -0,0 +1,53 @@
+package world;
+
+import entities.Player;
+
+public final class WorldSnapshot {
+    private final long tick;
+    private final float playerX;
+    private final float playerY;
+    private final int playerWidth;
+    private final int playerHeight;
+    private final boolean playerDead;
+
+    public WorldSnapshot(long tick, Player player) {
+        this.tick = tick;
+        this.playerX = player.getX();
+        this.playerY = player.getY();
+        this.playerWidth = player.getWidth();
+        this.playerHeight = player.getHeight();
+        this.playerDead = player.isDead();
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public float getPlayerX() {
+        return playerX;
+    }
+
+    public float getPlayerY() {
+        return playerY;
+    }
+
+    public int getPlayerWidth() {
+        return playerWidth;
+    }
+
+    public int getPlayerHeight() {
+        return playerHeight;
+    }
+
+    public float getPlayerCenterX() {
+        return playerX + playerWidth / 2f;
+    }
+
+    public float getPlayerCenterY() {
+        return playerY + playerHeight / 2f;
+    }
+
+    public boolean isPlayerDead() {
+        return playerDead;
+    }
+}
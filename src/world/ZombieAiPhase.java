@@ -0,0 +1,117 @@
+package world;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import entities.Zombie;
+
+public class ZombieAiPhase {
+    private ForkJoinPool pool;
+    private int chunkSize;
+    private boolean parallel;
+    private int lastParallelCount;
+    private int lastSequentialCount;
+
+    public ZombieAiPhase(ForkJoinPool pool, int chunkSize) {
+        this.pool = pool;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public void run(ZombieStore zombies, WorldSnapshot world, Environment environment) {
+        lastParallelCount = 0;
+        lastSequentialCount = 0;
+        int count = zombies.size();
+
+        if (parallel && count > chunkSize) {
+            for (int i = 0; i < count; i++) {
+                if (zombies.isAiDue(i) && zombies.get(i).isParallelSafe())
+                    lastParallelCount++;
+            }
+            pool.invoke(new Chunk(zombies, world, environment, 0, count));
+            for (int i = 0; i < count; i++) {
+                if (zombies.isAiDue(i)) {
+                    update(zombies, i, world, environment);
+                    lastSequentialCount++;
+                }
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                if (zombies.isAiDue(i)) {
+                    update(zombies, i, world, environment);
+                    lastSequentialCount++;
+                }
+            }
+        }
+    }
+
+    private static void update(ZombieStore zombies, int slot, WorldSnapshot world, Environment environment) {
+        float elapsed = zombies.getAiAccumulator(slot);
+        zombies.setAiAccumulator(slot, 0);
+        zombies.setAiDue(slot, false);
+        zombies.get(slot).updateAI(world, environment, elapsed);
+        zombies.recordIntent(slot);
+    }
+
+    private class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ZombieStore zombies;
+        private final WorldSnapshot world;
+        private final Environment environment;
+        private final int from;
+        private final int to;
+
+        Chunk(ZombieStore zombies, WorldSnapshot world, Environment environment, int from, int to) {
+            this.zombies = zombies;
+            this.world = world;
+            this.environment = environment;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                for (int i = from; i < to; i++) {
+                    if (zombies.isAiDue(i) && zombies.get(i).isParallelSafe())
+                        update(zombies, i, world, environment);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Chunk(zombies, world, environment, from, middle),
+                    new Chunk(zombies, world, environment, middle, to));
+        }
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public int getLastParallelCount() {
+        return lastParallelCount;
+    }
+
+    public int getLastSequentialCount() {
+        return lastSequentialCount;
+    }
+}
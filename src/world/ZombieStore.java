@@ -0,0 +1,508 @@
+package world;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import entities.Player;
+import entities.Zombie;
+
+public class ZombieStore {
+    public enum State {
+        IDLE("idle"), MOVING("moving"), ATTACKING("attacking"), DEAD("dead");
+
+        private final String label;
+
+        State(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public static State fromLabel(String label) {
+            for (State state : values()) {
+                if (state.label.equals(label))
+                    return state;
+            }
+            return IDLE;
+        }
+    }
+
+    private static final State[] STATES = State.values();
+
+    private int count;
+    private Zombie[] views;
+    private float[] x;
+    private float[] y;
+    private float[] previousX;
+    private float[] previousY;
+    private float[] velocityX;
+    private float[] velocityY;
+    private float[] speed;
+    private int[] hp;
+    private int[] maxHp;
+    private float[] attackTimer;
+    private float[] pathTimer;
+    private float[] pathAge;
+    private byte[] state;
+    private boolean[] alive;
+    private boolean[] attackRequested;
+    private float[] detectionRange;
+    private byte[] lodTier;
+    private float[] aiAccumulator;
+    private boolean[] aiDue;
+    private float[] intentX;
+    private float[] intentY;
+    private int[][] paths;
+    private int[] pathLength;
+    private int[] pathIndex;
+    private final List<Zombie> list;
+
+    public ZombieStore(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.views = new Zombie[capacity];
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.previousX = new float[capacity];
+        this.previousY = new float[capacity];
+        this.velocityX = new float[capacity];
+        this.velocityY = new float[capacity];
+        this.speed = new float[capacity];
+        this.hp = new int[capacity];
+        this.maxHp = new int[capacity];
+        this.attackTimer = new float[capacity];
+        this.pathTimer = new float[capacity];
+        this.pathAge = new float[capacity];
+        this.state = new byte[capacity];
+        this.alive = new boolean[capacity];
+        this.attackRequested = new boolean[capacity];
+        this.detectionRange = new float[capacity];
+        this.lodTier = new byte[capacity];
+        this.aiAccumulator = new float[capacity];
+        this.aiDue = new boolean[capacity];
+        this.intentX = new float[capacity];
+        this.intentY = new float[capacity];
+        this.paths = new int[capacity][];
+        this.pathLength = new int[capacity];
+        this.pathIndex = new int[capacity];
+        this.list = new AbstractList<Zombie>() {
+            @Override
+            public Zombie get(int index) {
+                if (index < 0 || index >= count)
+                    throw new IndexOutOfBoundsException("Zombie index " + index + " out of " + count);
+                return views[index];
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    public int allocate(Zombie zombie) {
+        if (count == views.length)
+            grow(count * 2);
+        int slot = count++;
+        views[slot] = zombie;
+        x[slot] = 0;
+        y[slot] = 0;
+        previousX[slot] = 0;
+        previousY[slot] = 0;
+        velocityX[slot] = 0;
+        velocityY[slot] = 0;
+        speed[slot] = 0;
+        hp[slot] = 0;
+        maxHp[slot] = 0;
+        attackTimer[slot] = 0;
+        pathTimer[slot] = 0;
+        pathAge[slot] = 0;
+        state[slot] = (byte) State.IDLE.ordinal();
+        alive[slot] = true;
+        attackRequested[slot] = false;
+        detectionRange[slot] = 0;
+        lodTier[slot] = 0;
+        aiAccumulator[slot] = 0;
+        aiDue[slot] = true;
+        intentX[slot] = 0;
+        intentY[slot] = 0;
+        paths[slot] = null;
+        pathLength[slot] = 0;
+        pathIndex[slot] = 0;
+        return slot;
+    }
+
+    public void add(Zombie zombie) {
+        ZombieStore source = zombie.getStore();
+        if (source != null)
+            source.remove(zombie.getSlot());
+        zombie.attach(this, allocate(zombie));
+    }
+
+    public void remove(int slot) {
+        if (slot < 0 || slot >= count)
+            return;
+
+        views[slot].detach();
+        int last = --count;
+        if (slot != last) {
+            copySlot(last, slot);
+            views[slot] = views[last];
+            views[slot].bindStore(this, slot);
+        }
+        views[last] = null;
+        paths[last] = null;
+    }
+
+    public void remove(Zombie zombie) {
+        if (zombie.getStore() == this)
+            remove(zombie.getSlot());
+    }
+
+    public void clear() {
+        while (count > 0) {
+            remove(count - 1);
+        }
+    }
+
+    public void storePreviousPositions() {
+        System.arraycopy(x, 0, previousX, 0, count);
+        System.arraycopy(y, 0, previousY, 0, count);
+    }
+
+    public void storePreviousPosition(int slot) {
+        previousX[slot] = x[slot];
+        previousY[slot] = y[slot];
+    }
+
+    public float getPreviousX(int slot) {
+        return previousX[slot];
+    }
+
+    public float getPreviousY(int slot) {
+        return previousY[slot];
+    }
+
+    public void setPreviousPosition(int slot, float px, float py) {
+        previousX[slot] = px;
+        previousY[slot] = py;
+    }
+
+    public void integrate(float dt) {
+        for (int i = 0; i < count; i++) {
+            if (!alive[i]) {
+                velocityX[i] = 0;
+                velocityY[i] = 0;
+            }
+            x[i] += velocityX[i] * dt;
+            y[i] += velocityY[i] * dt;
+            attackTimer[i] -= dt;
+            pathTimer[i] -= dt;
+            pathAge[i] += dt;
+        }
+    }
+
+    public void integrate(int slot, float dt) {
+        if (!alive[slot]) {
+            velocityX[slot] = 0;
+            velocityY[slot] = 0;
+        }
+        x[slot] += velocityX[slot] * dt;
+        y[slot] += velocityY[slot] * dt;
+        attackTimer[slot] -= dt;
+        pathTimer[slot] -= dt;
+        pathAge[slot] += dt;
+    }
+
+    public boolean clampPosition(int slot, float limitX, float limitY) {
+        float clampedX = Math.max(0, Math.min(x[slot], limitX - views[slot].getWidth()));
+        float clampedY = Math.max(0, Math.min(y[slot], limitY - views[slot].getHeight()));
+        if (clampedX == x[slot] && clampedY == y[slot])
+            return false;
+        x[slot] = clampedX;
+        y[slot] = clampedY;
+        return true;
+    }
+
+    public int removeFinished() {
+        int removed = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            if (!alive[i] && views[i].isDeathAnimationFinished()) {
+                remove(i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public int applyAttackRequests(Player player) {
+        int attacks = 0;
+        for (int i = 0; i < count; i++) {
+            if (!attackRequested[i])
+                continue;
+            attackRequested[i] = false;
+            views[i].attack(player);
+            attacks++;
+        }
+        return attacks;
+    }
+
+    public int countAlive() {
+        int living = 0;
+        for (int i = 0; i < count; i++) {
+            if (alive[i])
+                living++;
+        }
+        return living;
+    }
+
+    private void copySlot(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        previousX[to] = previousX[from];
+        previousY[to] = previousY[from];
+        velocityX[to] = velocityX[from];
+        velocityY[to] = velocityY[from];
+        speed[to] = speed[from];
+        hp[to] = hp[from];
+        maxHp[to] = maxHp[from];
+        attackTimer[to] = attackTimer[from];
+        pathTimer[to] = pathTimer[from];
+        pathAge[to] = pathAge[from];
+        state[to] = state[from];
+        alive[to] = alive[from];
+        attackRequested[to] = attackRequested[from];
+        detectionRange[to] = detectionRange[from];
+        lodTier[to] = lodTier[from];
+        aiAccumulator[to] = aiAccumulator[from];
+        aiDue[to] = aiDue[from];
+        intentX[to] = intentX[from];
+        intentY[to] = intentY[from];
+        paths[to] = paths[from];
+        pathLength[to] = pathLength[from];
+        pathIndex[to] = pathIndex[from];
+    }
+
+    private void grow(int capacity) {
+        views = Arrays.copyOf(views, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        hp = Arrays.copyOf(hp, capacity);
+        maxHp = Arrays.copyOf(maxHp, capacity);
+        attackTimer = Arrays.copyOf(attackTimer, capacity);
+        pathTimer = Arrays.copyOf(pathTimer, capacity);
+        pathAge = Arrays.copyOf(pathAge, capacity);
+        state = Arrays.copyOf(state, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        attackRequested = Arrays.copyOf(attackRequested, capacity);
+        detectionRange = Arrays.copyOf(detectionRange, capacity);
+        lodTier = Arrays.copyOf(lodTier, capacity);
+        aiAccumulator = Arrays.copyOf(aiAccumulator, capacity);
+        aiDue = Arrays.copyOf(aiDue, capacity);
+        intentX = Arrays.copyOf(intentX, capacity);
+        intentY = Arrays.copyOf(intentY, capacity);
+        paths = Arrays.copyOf(paths, capacity);
+        pathLength = Arrays.copyOf(pathLength, capacity);
+        pathIndex = Arrays.copyOf(pathIndex, capacity);
+    }
+
+    public List<Zombie> asList() {
+        return list;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public Zombie get(int slot) {
+        return views[slot];
+    }
+
+    public float getX(int slot) {
+        return x[slot];
+    }
+
+    public void setX(int slot, float value) {
+        x[slot] = value;
+    }
+
+    public float getY(int slot) {
+        return y[slot];
+    }
+
+    public void setY(int slot, float value) {
+        y[slot] = value;
+    }
+
+    public float getVelocityX(int slot) {
+        return velocityX[slot];
+    }
+
+    public void setVelocityX(int slot, float value) {
+        velocityX[slot] = value;
+    }
+
+    public float getVelocityY(int slot) {
+        return velocityY[slot];
+    }
+
+    public void setVelocityY(int slot, float value) {
+        velocityY[slot] = value;
+    }
+
+    public void setVelocity(int slot, float vx, float vy) {
+        velocityX[slot] = vx;
+        velocityY[slot] = vy;
+    }
+
+    public float getSpeed(int slot) {
+        return speed[slot];
+    }
+
+    public void setSpeed(int slot, float value) {
+        speed[slot] = value;
+    }
+
+    public int getHp(int slot) {
+        return hp[slot];
+    }
+
+    public void setHp(int slot, int value) {
+        hp[slot] = value;
+    }
+
+    public int getMaxHp(int slot) {
+        return maxHp[slot];
+    }
+
+    public void setMaxHp(int slot, int value) {
+        maxHp[slot] = value;
+    }
+
+    public float getAttackTimer(int slot) {
+        return attackTimer[slot];
+    }
+
+    public void setAttackTimer(int slot, float value) {
+        attackTimer[slot] = value;
+    }
+
+    public float getPathTimer(int slot) {
+        return pathTimer[slot];
+    }
+
+    public void setPathTimer(int slot, float value) {
+        pathTimer[slot] = value;
+    }
+
+    public float getPathAge(int slot) {
+        return pathAge[slot];
+    }
+
+    public void setPathAge(int slot, float value) {
+        pathAge[slot] = value;
+    }
+
+    public int[] getPath(int slot) {
+        return paths[slot];
+    }
+
+    public void setPath(int slot, int[] path) {
+        paths[slot] = path;
+    }
+
+    public int getPathLength(int slot) {
+        return pathLength[slot];
+    }
+
+    public void setPathLength(int slot, int value) {
+        pathLength[slot] = value;
+    }
+
+    public int getPathIndex(int slot) {
+        return pathIndex[slot];
+    }
+
+    public void setPathIndex(int slot, int value) {
+        pathIndex[slot] = value;
+    }
+
+    public State getState(int slot) {
+        return STATES[state[slot]];
+    }
+
+    public void setState(int slot, State value) {
+        state[slot] = (byte) value.ordinal();
+    }
+
+    public boolean isAttackRequested(int slot) {
+        return attackRequested[slot];
+    }
+
+    public void setAttackRequested(int slot, boolean value) {
+        attackRequested[slot] = value;
+    }
+
+    public float getDetectionRange(int slot) {
+        return detectionRange[slot];
+    }
+
+    public void setDetectionRange(int slot, float value) {
+        detectionRange[slot] = value;
+    }
+
+    public int getLodTier(int slot) {
+        return lodTier[slot];
+    }
+
+    public void setLodTier(int slot, int value) {
+        lodTier[slot] = (byte) value;
+    }
+
+    public float getAiAccumulator(int slot) {
+        return aiAccumulator[slot];
+    }
+
+    public void setAiAccumulator(int slot, float value) {
+        aiAccumulator[slot] = value;
+    }
+
+    public boolean isAiDue(int slot) {
+        return aiDue[slot];
+    }
+
+    public void setAiDue(int slot, boolean value) {
+        aiDue[slot] = value;
+    }
+
+    public float getIntentX(int slot) {
+        return intentX[slot];
+    }
+
+    public float getIntentY(int slot) {
+        return intentY[slot];
+    }
+
+    public void recordIntent(int slot) {
+        intentX[slot] = velocityX[slot];
+        intentY[slot] = velocityY[slot];
+    }
+
+    public boolean isAlive(int slot) {
+        return alive[slot];
+    }
+
+    public void setAlive(int slot, boolean value) {
+        alive[slot] = value;
+    }
+}
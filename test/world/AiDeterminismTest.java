@@ -0,0 +1,76 @@
+package world;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import entities.Player;
+import entities.Zombie;
+import utils.CollisionGrid;
+
+class AiDeterminismTest {
+    private static final int TILE_SIZE = 32;
+    private static final long SEED = 42;
+    private static final int ZOMBIES = 400;
+    private static final int TICKS = 300;
+
+    @ParameterizedTest
+    @EnumSource(Level.NavigationMode.class)
+    void parallelAiMatchesSequential(Level.NavigationMode mode) {
+        Level sequential = createLevel(mode, false);
+        Level parallel = createLevel(mode, true);
+
+        float dt = 1 / 60f;
+        for (int tick = 0; tick < TICKS; tick++) {
+            sequential.update(dt);
+            parallel.update(dt);
+            assertEquals(fingerprint(sequential), fingerprint(parallel), mode + " diverged at tick " + tick);
+            ZombieAiPhase phase = parallel.getAiPhase();
+            assertEquals(sequential.getAiPhase().getLastSequentialCount(),
+                    phase.getLastParallelCount() + phase.getLastSequentialCount(),
+                    mode + " miscounted AI updates at tick " + tick);
+        }
+    }
+
+    private static Level createLevel(Level.NavigationMode mode, boolean parallel) {
+        Random random = new Random(SEED);
+        int cols = 96;
+        int rows = 96;
+        Environment environment = new Environment(cols * TILE_SIZE, rows * TILE_SIZE, TILE_SIZE);
+        CollisionGrid grid = new CollisionGrid(cols, rows);
+        for (int i = 0; i < cols * rows / 12; i++) {
+            grid.set(random.nextInt(cols), random.nextInt(rows), true);
+        }
+        grid.set(cols / 2, rows / 2, false);
+        environment.setCollisionGrid(grid);
+        environment.ensureBorders();
+
+        Player player = new Player(cols / 2 * TILE_SIZE, rows / 2 * TILE_SIZE, 32, 32, Integer.MAX_VALUE / 2, 3);
+        Level level = new Level(1, environment, player);
+        player.setLevel(level);
+        level.setRandomSeed(SEED);
+        level.setNavigationMode(mode);
+        level.setParallelAi(parallel);
+        for (int i = 0; i < ZOMBIES; i++) {
+            level.spawnZombie();
+        }
+        return level;
+    }
+
+    private static long fingerprint(Level level) {
+        long hash = 1125899906842597L;
+        List<Zombie> zombies = level.getZombies();
+        for (int i = 0; i < zombies.size(); i++) {
+            Zombie zombie = zombies.get(i);
+            hash = 31 * hash + Float.floatToIntBits(zombie.getX());
+            hash = 31 * hash + Float.floatToIntBits(zombie.getY());
+            hash = 31 * hash + Float.floatToIntBits(zombie.getVelocityX());
+            hash = 31 * hash + Float.floatToIntBits(zombie.getVelocityY());
+            hash = 31 * hash + zombie.getStateValue().ordinal();
+            hash = 31 * hash + zombie.getHp();
+        }
+        return 31 * hash + level.getPlayer().getHp();
+    }
+}